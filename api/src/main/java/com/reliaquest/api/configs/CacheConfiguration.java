@@ -0,0 +1,8 @@
+package com.reliaquest.api.configs;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class CacheConfiguration {}
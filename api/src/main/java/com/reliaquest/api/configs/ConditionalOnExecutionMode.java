@@ -0,0 +1,22 @@
+package com.reliaquest.api.configs;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.springframework.context.annotation.Conditional;
+
+/**
+ * Registers the annotated bean only when {@code employees.execution.mode} binds to the given
+ * {@link ExecutionProperties.Mode}. The property is bound the same way as {@link ExecutionProperties},
+ * so it is case-insensitive, defaults to {@code BLOCKING} and fails startup on an unknown mode.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Conditional(OnExecutionModeCondition.class)
+public @interface ConditionalOnExecutionMode {
+
+    ExecutionProperties.Mode value();
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employees.batch")
+public class EmployeeBatchProperties {
+
+    /** Most employees in one batch request, and in one batch call to the data server. */
+    private int maxSize = 1000;
+
+    /**
+     * How long a single create waits for concurrent ones to share its call to the data server;
+     * zero or negative sends every create on its own.
+     */
+    private Duration createWindow = Duration.ofMillis(10);
+}
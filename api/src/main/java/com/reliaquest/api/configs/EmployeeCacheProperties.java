@@ -0,0 +1,63 @@
+package com.reliaquest.api.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employees.cache")
+public class EmployeeCacheProperties {
+
+    public enum Provider {
+        /** Caffeine-backed cache with TTL, refresh-ahead and stale-while-revalidate. */
+        CAFFEINE,
+        /** No caching; every read loads the roster from the data server. */
+        NONE
+    }
+
+    private Provider provider = Provider.CAFFEINE;
+
+    /** How long a roster is served from the cache while refreshes keep failing; reads then reload it. */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * When the roster cannot be loaded or the circuit breaker is open, answer with the last roster
+     * loaded if it is no older than this, marked stale; zero or negative disables it.
+     */
+    private Duration maxStale = Duration.ofHours(1);
+
+    /**
+     * File the last roster loaded is written to and restored from on startup, so a restart while
+     * the data server is unavailable still has something to serve; unset keeps it in memory only.
+     */
+    private String spillFile;
+
+    /** Loads within this long of each other are written to {@code spill-file} once. */
+    private Duration spillDelay = Duration.ofMinutes(1);
+
+    /** Age after which a read still gets the cached roster but triggers a background reload. */
+    private Duration refreshAfter = Duration.ofSeconds(30);
+
+    /** Period of the background refresh-ahead; zero or negative disables it. */
+    private Duration refreshInterval = Duration.ofSeconds(25);
+
+    /** Bring a cached roster up to date from the data server's change feed instead of refetching it. */
+    private boolean deltaSync = true;
+
+    /** Load the roster on startup so the first request does not pay for it. */
+    private boolean preload = true;
+
+    /** Per-id cache used for lookups while no roster is loaded. */
+    private ById byId = new ById();
+
+    @Data
+    public static class ById {
+
+        private long maximumSize = 10_000;
+
+        private Duration ttl = Duration.ofMinutes(1);
+
+        /** How long an id the data server answered 404 for is remembered as missing. */
+        private Duration negativeTtl = Duration.ofSeconds(10);
+    }
+}
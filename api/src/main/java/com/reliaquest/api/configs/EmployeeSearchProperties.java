@@ -0,0 +1,12 @@
+package com.reliaquest.api.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employees.search")
+public class EmployeeSearchProperties {
+
+    /** Most employees a name search returns; also the default {@code limit}. */
+    private int maxResults = 1000;
+}
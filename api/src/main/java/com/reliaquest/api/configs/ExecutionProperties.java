@@ -0,0 +1,18 @@
+package com.reliaquest.api.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employees.execution")
+public class ExecutionProperties {
+
+    public enum Mode {
+        /** Handlers block the servlet thread until the employee service answers. */
+        BLOCKING,
+        /** Handlers return a CompletableFuture and release the servlet thread while upstream calls and retries run. */
+        ASYNC
+    }
+
+    private Mode mode = Mode.BLOCKING;
+}
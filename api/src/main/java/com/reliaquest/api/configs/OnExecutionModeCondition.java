@@ -0,0 +1,21 @@
+package com.reliaquest.api.configs;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+class OnExecutionModeCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnExecutionMode.class.getName());
+        ExecutionProperties.Mode expected = (ExecutionProperties.Mode) attributes.get("value");
+        ExecutionProperties.Mode mode = Binder.get(context.getEnvironment())
+                .bind("employees.execution", ExecutionProperties.class)
+                .orElseGet(ExecutionProperties::new)
+                .getMode();
+        return mode == expected;
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.configs;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * resilience4j already publishes circuit breaker state and call outcomes; this adds a
+ * {@code resilience4j.circuitbreaker.transitions} counter and a log line per state change, so an
+ * open breaker shows up next to the retry and cache metrics that explain it.
+ */
+@Slf4j
+@Configuration
+public class ResilienceConfiguration {
+
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitions(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> event) {
+                CircuitBreaker circuitBreaker = event.getAddedEntry();
+                circuitBreaker.getEventPublisher().onStateTransition(transition -> {
+                    CircuitBreaker.StateTransition states = transition.getStateTransition();
+                    log.warn(
+                            "Circuit breaker {} moved from {} to {}",
+                            circuitBreaker.getName(),
+                            states.getFromState(),
+                            states.getToState());
+                    Counter.builder("resilience4j.circuitbreaker.transitions")
+                            .description("Circuit breaker state changes")
+                            .tag("name", circuitBreaker.getName())
+                            .tag("from", states.getFromState().name())
+                            .tag("to", states.getToState().name())
+                            .register(meterRegistry)
+                            .increment();
+                });
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> event) {}
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> event) {}
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "employees.streaming")
+public class ResponseStreamingProperties {
+
+    /** Write employee lists straight from the roster to the response instead of through the default Jackson converter. */
+    private boolean enabled = true;
+
+    /** Employees written between flushes; bounds the response buffer and gets the first bytes out early. */
+    private int flushEvery = 256;
+}
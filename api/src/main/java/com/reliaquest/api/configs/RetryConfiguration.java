@@ -1,8 +1,8 @@
 package com.reliaquest.api.configs;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.retry.annotation.EnableRetry;
 
 @Configuration
-@EnableRetry
+@EnableConfigurationProperties({UpstreamRetryProperties.class, ExecutionProperties.class})
 public class RetryConfiguration {}
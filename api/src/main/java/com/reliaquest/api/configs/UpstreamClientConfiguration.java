@@ -0,0 +1,129 @@
+package com.reliaquest.api.configs;
+
+import com.reliaquest.api.web.UpstreamRateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * The {@link RestClient} used for every call to the data server.
+ *
+ * <p>With the default HttpComponents transport the pool, timeouts, connection TTL and idle
+ * eviction come from {@code dataserver.client}, and the pool is published as the
+ * {@code httpcomponents.httpclient.pool.*} meters tagged {@code httpclient=dataserver}
+ * (leased, available and pending connections).
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(UpstreamClientProperties.class)
+public class UpstreamClientConfiguration {
+
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(
+            UpstreamClientProperties properties, UpstreamRetryProperties retryProperties, MeterRegistry meterRegistry) {
+        if (properties.getMaxConnectionsPerRoute() < retryProperties.getIoThreads()) {
+            // exchanges run on the io threads, so the surplus would queue for a connection
+            log.warn(
+                    "dataserver.client.max-connections-per-route ({}) is below dataserver.retry.io-threads ({})",
+                    properties.getMaxConnectionsPerRoute(),
+                    retryProperties.getIoThreads());
+        }
+        return switch (properties.getTransport()) {
+            case HTTP_COMPONENTS -> httpComponents(properties, meterRegistry);
+            case JDK -> jdk(properties);
+        };
+    }
+
+    @Bean
+    public RestClient upstreamRestClient(
+            RestClient.Builder restClientBuilder,
+            ClientHttpRequestFactory upstreamRequestFactory,
+            UpstreamRateLimitInterceptor rateLimitInterceptor,
+            @Value("${dataserver.url}") String baseUrl) {
+        // Boot's builder records http.client.requests for every exchange
+        return restClientBuilder
+                .baseUrl(baseUrl)
+                .requestFactory(upstreamRequestFactory)
+                .requestInterceptor(rateLimitInterceptor)
+                .build();
+    }
+
+    private static ClientHttpRequestFactory httpComponents(
+            UpstreamClientProperties properties, MeterRegistry meterRegistry) {
+        ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                .setValidateAfterInactivity(timeValue(properties.getValidateAfterInactivity()));
+        if (isPositive(properties.getTimeToLive())) {
+            connectionConfig.setTimeToLive(timeValue(properties.getTimeToLive()));
+        }
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(connectionConfig.build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "dataserver").bindTo(meterRegistry);
+
+        HttpClientBuilder httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(timeout(properties.getResponseTimeout()))
+                        .build());
+        if (!properties.isCompression()) {
+            httpClient.disableContentCompression();
+        }
+        if (isPositive(properties.getEvictIdleAfter())) {
+            httpClient.evictExpiredConnections().evictIdleConnections(timeValue(properties.getEvictIdleAfter()));
+        }
+
+        log.info(
+                "Upstream pool of {} connections ({} per route), connect timeout {}, response timeout {}",
+                properties.getMaxConnections(),
+                properties.getMaxConnectionsPerRoute(),
+                properties.getConnectTimeout(),
+                properties.getResponseTimeout());
+        // closes the client and its pool when the context shuts down
+        return new HttpComponentsClientHttpRequestFactory(httpClient.build());
+    }
+
+    private static ClientHttpRequestFactory jdk(UpstreamClientProperties properties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(properties.getResponseTimeout());
+        log.info("Upstream JDK client over {}", httpClient.version());
+        return factory;
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return duration != null && !duration.isZero() && !duration.isNegative();
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
+}
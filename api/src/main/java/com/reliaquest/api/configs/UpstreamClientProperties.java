@@ -0,0 +1,50 @@
+package com.reliaquest.api.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dataserver.client")
+public class UpstreamClientProperties {
+
+    public enum Transport {
+        /** Apache HttpClient 5 with a pooled, metered connection manager. */
+        HTTP_COMPONENTS,
+        /** {@code java.net.http.HttpClient}; negotiates HTTP/2 when {@code http2} is set. */
+        JDK
+    }
+
+    private Transport transport = Transport.HTTP_COMPONENTS;
+
+    /** Offer HTTP/2 with the JDK transport, falling back to HTTP/1.1 if the data server declines. */
+    private boolean http2 = false;
+
+    /**
+     * Send {@code Accept-Encoding: gzip, deflate} and decompress responses; the data server
+     * compresses the roster. Applies to the HttpComponents transport only.
+     */
+    private boolean compression = true;
+
+    /** Connections to the data server; keep at least {@code dataserver.retry.io-threads}. */
+    private int maxConnections = 64;
+
+    private int maxConnectionsPerRoute = 64;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** How long an exchange waits to lease a pooled connection before failing. */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /** Socket timeout waiting for response data. */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /** Check a pooled connection is still open when it has been idle for longer than this. */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /** Close a connection this long after it was opened, even when busy; zero or negative keeps it. */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /** Background eviction of connections idle for longer than this; zero or negative disables it. */
+    private Duration evictIdleAfter = Duration.ofSeconds(30);
+}
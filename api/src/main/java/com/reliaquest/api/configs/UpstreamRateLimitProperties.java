@@ -0,0 +1,23 @@
+package com.reliaquest.api.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dataserver.rate-limit")
+public class UpstreamRateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Requests allowed per window before the first 429 teaches the real budget; 0 means unknown. */
+    private int initialBudget = 0;
+
+    /** Pause after the budget is spent or a 429 without Retry-After; grows when it proves too short. */
+    private Duration cooldown = Duration.ofSeconds(30);
+
+    private Duration maxCooldown = Duration.ofSeconds(120);
+
+    /** Longest a call is held back for a permit before failing locally with 429; no thread waits meanwhile. */
+    private Duration maxWait = Duration.ofSeconds(2);
+}
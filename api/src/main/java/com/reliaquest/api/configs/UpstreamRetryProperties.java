@@ -0,0 +1,43 @@
+package com.reliaquest.api.configs;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dataserver.retry")
+public class UpstreamRetryProperties {
+
+    private int maxAttempts = 5;
+
+    private Duration initialDelay = Duration.ofSeconds(3);
+
+    private double multiplier = 2;
+
+    /** Cap on the exponential backoff; a {@code Retry-After} or a learned reset time may be longer. */
+    private Duration maxDelay = Duration.ofSeconds(30);
+
+    /** Random spread added to every delay, as a fraction of it, so retries do not land together. */
+    private double jitter = 0.2;
+
+    /** Give up on a call once retrying it would run past this, including time paused by the rate limiter. */
+    private Duration maxElapsed = Duration.ofSeconds(50);
+
+    /** Threads performing the HTTP exchanges; waits between attempts hold none of them. */
+    private int ioThreads = 16;
+
+    /** Shared allowance of retries; once spent, a throttled call fails at once instead of waiting. */
+    private Budget budget = new Budget();
+
+    @Data
+    public static class Budget {
+
+        /** Retries earned by every call, on top of {@code min-per-second}. */
+        private double ratio = 0.2;
+
+        private double minPerSecond = 1;
+
+        /** Most retries that can be saved up; the budget starts full. */
+        private int maxBalance = 20;
+    }
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.web.StreamingEmployeeListConverter;
+import java.util.List;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties({
+    ResponseStreamingProperties.class,
+    EmployeeSearchProperties.class,
+    EmployeeBatchProperties.class
+})
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final ResponseStreamingProperties streaming;
+    private final ObjectMapper objectMapper;
+
+    public WebConfiguration(ResponseStreamingProperties streaming, ObjectMapper objectMapper) {
+        this.streaming = streaming;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (streaming.isEnabled()) {
+            // ahead of the Jackson converter, which would otherwise claim List<Employee>
+            converters.add(0, new StreamingEmployeeListConverter(objectMapper, streaming.getFlushEvery()));
+        }
+    }
+}
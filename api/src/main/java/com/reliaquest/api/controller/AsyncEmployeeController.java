@@ -0,0 +1,103 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.configs.ConditionalOnExecutionMode;
+import com.reliaquest.api.configs.ExecutionProperties;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeData;
+import com.reliaquest.api.service.EmployeeService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Same routes and JSON as {@link EmployeeController}, enabled with {@code employees.execution.mode=async}.
+ *
+ * <p>Handlers return a {@link CompletableFuture}, so the servlet thread is released while the
+ * employee service waits on the data server or on a scheduled retry.
+ * {@link IEmployeeController} fixes synchronous return types, hence the separate controller.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+@ConditionalOnExecutionMode(ExecutionProperties.Mode.ASYNC)
+@Slf4j
+public class AsyncEmployeeController {
+
+    private final EmployeeService employeeService;
+
+    @Autowired
+    AsyncEmployeeController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping()
+    @Operation(summary = "Fetches all employees")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService
+                .getAllEmployeesAsync()
+                .thenApply(response -> ResponseEntity.of(Optional.ofNullable(response.getData())));
+    }
+
+    @GetMapping("/search/{searchString}")
+    @Operation(summary = "Fetches employees containing the specified name search string")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit) {
+        return employeeService
+                .getEmployeesByNameAsync(searchString, offset, limit)
+                .thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Fetches employees by UUID")
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService.getEmployeeByIdAsync(id).thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    @GetMapping("/highestSalary")
+    @Operation(summary = "Fetches employees with the highest salary")
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployeesAsync().thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    @Operation(summary = "Fetches top 10 highest-paid employees ")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getHighestEarningEmployeeNamesAsync().thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    @PostMapping()
+    @Operation(summary = "Creates an employees ")
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody EmployeeData employeeInput) {
+        return employeeService.createEmployeeAsync(employeeInput).thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Fetches employees by a list of UUIDs; unknown ones are left out")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByIds(@RequestParam("ids") List<String> ids) {
+        return employeeService.getEmployeesByIdsAsync(ids).thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Creates employees with a single call to the data server")
+    public CompletableFuture<ResponseEntity<List<Employee>>> createEmployees(
+            @Valid @RequestBody List<EmployeeData> employeeInputs) {
+        return employeeService.createEmployeesAsync(employeeInputs).thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "deletes an employee by UUID ")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService.deleteEmployeeByIdAsync(id).thenApply(AsyncEmployeeController::ofNullable);
+    }
+
+    private static <T> ResponseEntity<T> ofNullable(T body) {
+        return ResponseEntity.of(Optional.ofNullable(body));
+    }
+}
@@ -1,11 +1,14 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.configs.ConditionalOnExecutionMode;
+import com.reliaquest.api.configs.ExecutionProperties;
 import com.reliaquest.api.models.Employee;
 import com.reliaquest.api.models.EmployeeData;
 import com.reliaquest.api.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Optional;
@@ -16,14 +19,18 @@ import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/v1/employee")
+@ConditionalOnExecutionMode(ExecutionProperties.Mode.BLOCKING)
 @Slf4j
 public class EmployeeController implements IEmployeeController<Employee, EmployeeData> {
 
     private final EmployeeService employeeService;
+    // request-scoped proxy: IEmployeeController fixes the search signature, so paging is read from the query
+    private final HttpServletRequest request;
 
     @Autowired
-    EmployeeController(EmployeeService employeeService) {
+    EmployeeController(EmployeeService employeeService, HttpServletRequest request) {
         this.employeeService = employeeService;
+        this.request = request;
     }
 
     @Override
@@ -52,7 +59,8 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
                 @ApiResponse(responseCode = "500", description = "Internal server error"),
             })
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
-        return ResponseEntity.of(Optional.ofNullable(employeeService.getEmployeesByName(searchString)));
+        return ResponseEntity.of(Optional.ofNullable(employeeService.getEmployeesByName(
+                searchString, intParameter("offset"), intParameter("limit"))));
     }
 
     @Override
@@ -123,4 +131,40 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
     public ResponseEntity<String> deleteEmployeeById(@Valid @PathVariable String id) {
         return ResponseEntity.of(Optional.ofNullable(employeeService.deleteEmployeeById(id)));
     }
+
+    @Operation(summary = "Fetches employees by a list of UUIDs; unknown ones are left out")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Found employees"),
+                @ApiResponse(responseCode = "400", description = "More ids than employees.batch.max-size"),
+                @ApiResponse(responseCode = "500", description = "Internal server error"),
+            })
+    @GetMapping("/batch")
+    public ResponseEntity<List<Employee>> getEmployeesByIds(@RequestParam("ids") List<String> ids) {
+        return ResponseEntity.of(Optional.ofNullable(employeeService.getEmployeesByIds(ids)));
+    }
+
+    @Operation(summary = "Creates employees with a single call to the data server")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Employees created successfully"),
+                @ApiResponse(responseCode = "400", description = "More employees than employees.batch.max-size"),
+                @ApiResponse(responseCode = "500", description = "Internal server error"),
+            })
+    @PostMapping("/batch")
+    public ResponseEntity<List<Employee>> createEmployees(@Valid @RequestBody List<EmployeeData> employeeInputs) {
+        return ResponseEntity.of(Optional.ofNullable(employeeService.createEmployees(employeeInputs)));
+    }
+
+    private Integer intParameter(String name) {
+        String value = request.getParameter(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Query parameter '" + name + "' must be an integer: " + value);
+        }
+    }
 }
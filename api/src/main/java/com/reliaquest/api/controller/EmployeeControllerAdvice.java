@@ -3,6 +3,7 @@ package com.reliaquest.api.controller;
 import com.reliaquest.api.models.EmployeeResponse;
 import java.util.NoSuchElementException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -23,16 +24,28 @@ public class EmployeeControllerAdvice {
     }
 
     // THe handler for 404 not found exceptions
-    @ExceptionHandler({NoSuchElementException.class, ResponseStatusException.class})
-    protected ResponseEntity<?> handleException(Exception ex) {
-        // exception must be of a type that is thrown by the controller methods
-        String message = ex instanceof ResponseStatusException
-                        && ((ResponseStatusException) ex).getStatusCode() == HttpStatus.NOT_FOUND
-                ? ex.getMessage()
-                : "Resource not found";
+    @ExceptionHandler(NoSuchElementException.class)
+    protected ResponseEntity<?> handleException(NoSuchElementException ex) {
+        String message = "Resource not found";
 
         log.error("404 not found {}", message);
 
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(EmployeeResponse.error(message));
     }
+
+    // thrown with the status to answer, e.g. 404 from a controller or 503 when the data server is down
+    @ExceptionHandler(ResponseStatusException.class)
+    protected ResponseEntity<?> handleResponseStatus(ResponseStatusException ex) {
+        String message = ex.getReason() != null ? ex.getReason() : ex.getMessage();
+        log.error("{} {}", ex.getStatusCode().value(), message);
+
+        return ResponseEntity.status(ex.getStatusCode()).body(EmployeeResponse.error(message));
+    }
+
+    // malformed query parameters, such as a non-numeric search limit
+    @ExceptionHandler({IllegalArgumentException.class, TypeMismatchException.class})
+    protected ResponseEntity<?> handleBadRequest(Exception ex) {
+        log.warn("400 bad request {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(EmployeeResponse.error(ex.getMessage()));
+    }
 }
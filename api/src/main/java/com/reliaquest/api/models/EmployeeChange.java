@@ -0,0 +1,23 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/** A create or delete on the data server, numbered in the order it was applied there. */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private long sequence;
+    private Type type;
+    private Employee employee;
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/** Changes up to and including {@code sequence}, which only means something to the server {@code instance}. */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class EmployeeChanges {
+    private String instance;
+    private long sequence;
+    private List<EmployeeChange> changes;
+}
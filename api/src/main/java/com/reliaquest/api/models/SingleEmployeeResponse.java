@@ -0,0 +1,16 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class SingleEmployeeResponse {
+    private Employee data;
+    private String status;
+    private String error;
+}
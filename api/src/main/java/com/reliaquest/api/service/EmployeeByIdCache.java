@@ -0,0 +1,116 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded cache of single-employee lookups against {@code GET /api/v1/employee/{id}}, used while
+ * the full roster is not loaded. Ids the data server does not know are cached as missing for
+ * {@code negative-ttl}. Statistics are published as the {@code employeesById} cache.
+ */
+@Slf4j
+@Component
+public class EmployeeByIdCache {
+
+    private final EmployeeClient employeeClient;
+    private final AsyncCache<UUID, Optional<Employee>> cache;
+
+    @Autowired
+    public EmployeeByIdCache(
+            EmployeeClient employeeClient, EmployeeCacheProperties properties, MeterRegistry meterRegistry) {
+        this(employeeClient, properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    EmployeeByIdCache(
+            EmployeeClient employeeClient,
+            EmployeeCacheProperties properties,
+            MeterRegistry meterRegistry,
+            Ticker ticker) {
+        this.employeeClient = employeeClient;
+        EmployeeCacheProperties.ById byId = properties.getById();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(byId.getMaximumSize())
+                .ticker(ticker)
+                .expireAfter(new FoundOrMissingExpiry(byId.getTtl(), byId.getNegativeTtl()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employeesById");
+    }
+
+    /**
+     * Concurrent lookups of the same id share one upstream call, coalesced by the client rather
+     * than held in the cache, so a caller that cancels the returned future stops the call once no
+     * other caller waits for it.
+     */
+    public CompletableFuture<Optional<Employee>> get(@NonNull UUID id) {
+        CompletableFuture<Optional<Employee>> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            // may still be loading for getAll, and is shared with its callers
+            return cached.copy();
+        }
+        CompletableFuture<Optional<Employee>> fetched = employeeClient.fetchEmployeeById(id);
+        fetched.thenAccept(employee -> {
+            // a create or delete written through meanwhile is newer than this answer
+            cache.asMap().putIfAbsent(id, CompletableFuture.completedFuture(employee));
+        });
+        return fetched;
+    }
+
+    /** Cached ids are served as they are; the rest are looked up together in one upstream call. */
+    public CompletableFuture<Map<UUID, Optional<Employee>>> getAll(@NonNull Collection<UUID> ids) {
+        return cache.getAll(ids, (missing, executor) -> employeeClient
+                .fetchEmployeesByIds(missing)
+                .thenApply(found -> {
+                    Map<UUID, Optional<Employee>> result = new HashMap<>();
+                    missing.forEach(id -> result.put(id, Optional.empty()));
+                    found.stream()
+                            .filter(employee -> missing.contains(employee.getId()))
+                            .forEach(employee -> result.put(employee.getId(), Optional.of(employee)));
+                    return result;
+                }));
+    }
+
+    public void onCreated(@NonNull Employee employee) {
+        cache.put(employee.getId(), CompletableFuture.completedFuture(Optional.of(employee)));
+    }
+
+    public void onDeleted(@NonNull UUID id) {
+        cache.put(id, CompletableFuture.completedFuture(Optional.empty()));
+    }
+
+    private record FoundOrMissingExpiry(Duration ttl, Duration negativeTtl)
+            implements Expiry<UUID, Optional<Employee>> {
+
+        @Override
+        public long expireAfterCreate(UUID id, Optional<Employee> employee, long currentTime) {
+            return (employee.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, Optional<Employee> employee, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, employee, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, Optional<Employee> employee, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.configs.EmployeeBatchProperties;
+import com.reliaquest.api.models.DeleteEmployeeResponse;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChanges;
+import com.reliaquest.api.models.EmployeeChangesResponse;
+import com.reliaquest.api.models.EmployeeData;
+import com.reliaquest.api.models.EmployeeResponse;
+import com.reliaquest.api.models.SingleEmployeeResponse;
+import com.reliaquest.api.web.MicroBatcher;
+import com.reliaquest.api.web.SingleFlight;
+import com.reliaquest.api.web.UpstreamRetryExecutor;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Upstream calls against the mock employee server. Kept apart from {@link EmployeeService} so the
+ * roster cache can load through it without depending on the service.
+ *
+ * <p>Every call runs on {@link UpstreamRetryExecutor} and completes asynchronously, retries
+ * included. Reads are single-flight: concurrent callers for the full list, or for the same id,
+ * share one in-flight exchange and its result or failure. Creates arriving within
+ * {@code employees.batch.create-window} of each other are sent as one batch. The {@link RestClient} and its
+ * connection pool are set up in {@code UpstreamClientConfiguration}.
+ */
+@Component
+@Slf4j
+public class EmployeeClient {
+
+    private static final ResponseErrorHandler ERROR_HANDLER = new DefaultResponseErrorHandler();
+
+    /** Data server instance and change sequence a full roster response is at least as new as. */
+    static final String INSTANCE_HEADER = "X-Roster-Instance";
+
+    static final String SEQUENCE_HEADER = "X-Roster-Sequence";
+
+    private final RestClient restClient;
+    private final UpstreamRetryExecutor retryExecutor;
+    private final EmployeeRosterReader rosterReader;
+    private final SingleFlight<String, EmployeeSnapshot> rosterFlight = new SingleFlight<>();
+    private final SingleFlight<UUID, Optional<Employee>> byIdFlight = new SingleFlight<>();
+    private final MicroBatcher<EmployeeData, Employee> createBatcher;
+
+    @Value("${dataserver.url}")
+    @NotNull private String dataSourceUrl;
+
+    @Autowired
+    public EmployeeClient(
+            RestClient upstreamRestClient,
+            UpstreamRetryExecutor retryExecutor,
+            ObjectMapper objectMapper,
+            EmployeeBatchProperties batchProperties) {
+        this.restClient = upstreamRestClient;
+        this.retryExecutor = retryExecutor;
+        this.rosterReader = new EmployeeRosterReader(objectMapper);
+        Duration window = batchProperties.getCreateWindow();
+        this.createBatcher = window == null || window.isZero() || window.isNegative()
+                ? null
+                : new MicroBatcher<>(
+                        "employee-create-batch",
+                        window,
+                        batchProperties.getMaxSize(),
+                        this::createBatch,
+                        this::createOne,
+                        EmployeeClient::isRejectedBatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (createBatcher != null) {
+            createBatcher.close();
+        }
+    }
+
+    /** Fetches the full roster, indexing employees as they are read off the response stream. */
+    public CompletableFuture<EmployeeSnapshot> fetchRoster() {
+        return fetchRoster(null);
+    }
+
+    /**
+     * Fetches the roster unless {@code current} is still up to date: its ETag is sent as
+     * {@code If-None-Match}, and on 304 {@code current} itself is returned.
+     */
+    public CompletableFuture<EmployeeSnapshot> fetchRoster(EmployeeSnapshot current) {
+        String etag = current == null ? null : current.etag();
+        return rosterFlight.execute("roster", () -> retryExecutor.execute("fetchRoster", () -> {
+            log.info("Fetching all employees from {}", dataSourceUrl);
+            return restClient
+                    .get()
+                    .accept(MediaType.APPLICATION_JSON)
+                    .headers(headers -> {
+                        if (etag != null) {
+                            headers.setIfNoneMatch(etag);
+                        }
+                    })
+                    .exchange((request, response) -> {
+                        if (etag != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            log.info("Employee roster unchanged since {}", etag);
+                            return current;
+                        }
+                        if (ERROR_HANDLER.hasError(response)) {
+                            ERROR_HANDLER.handleError(response);
+                        }
+                        try (InputStream body = response.getBody()) {
+                            return tagged(rosterReader.read(body), response.getHeaders());
+                        }
+                    });
+        }));
+    }
+
+    /**
+     * Creates and deletes on the data server after {@code since}, or empty when they cannot be
+     * had: the data server no longer retains them all, restarted as a different instance, or has
+     * no change feed. The roster then has to be fetched in full.
+     */
+    public CompletableFuture<Optional<EmployeeChanges>> fetchChanges(@NonNull String instance, long since) {
+        return retryExecutor.execute("fetchChanges", () -> {
+            log.debug("Fetching employee changes since {} from {}", since, dataSourceUrl);
+            try {
+                EmployeeChangesResponse response = restClient
+                        .get()
+                        .uri("/changes?since={since}", since)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .body(EmployeeChangesResponse.class);
+                return Optional.ofNullable(response)
+                        .map(EmployeeChangesResponse::getData)
+                        .filter(changes -> instance.equals(changes.getInstance()) && changes.getChanges() != null);
+            } catch (HttpClientErrorException.Gone | HttpClientErrorException.NotFound ex) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    public CompletableFuture<Optional<Employee>> fetchEmployeeById(@NonNull UUID id) {
+        return byIdFlight.execute(id, () -> retryExecutor.execute("fetchEmployeeById", () -> {
+            log.info("Fetching employee with ID {} from {}", id, dataSourceUrl);
+            try {
+                SingleEmployeeResponse response = restClient
+                        .get()
+                        .uri("/{id}", id)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .body(SingleEmployeeResponse.class);
+                return Optional.ofNullable(response).map(SingleEmployeeResponse::getData);
+            } catch (HttpClientErrorException.NotFound ex) {
+                return Optional.empty();
+            }
+        }));
+    }
+
+    /** Creates one employee, sharing the call to the data server with concurrent creates. */
+    public CompletableFuture<Employee> createEmployee(@NonNull EmployeeData employeeInput) {
+        return createBatcher == null ? createOne(employeeInput) : createBatcher.submit(employeeInput);
+    }
+
+    /** Creates the employees in one call to the data server; they are returned in input order. */
+    public CompletableFuture<List<Employee>> createEmployees(@NonNull List<EmployeeData> employeeInputs) {
+        return retryExecutor.execute("createEmployees", () -> {
+            log.info("Creating {} employees", employeeInputs.size());
+            EmployeeResponse response = restClient
+                    .post()
+                    .uri("/batch")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(employeeInputs)
+                    .retrieve()
+                    .body(EmployeeResponse.class);
+            return response == null || response.getData() == null ? List.<Employee>of() : response.getData();
+        });
+    }
+
+    /** The employees among {@code ids} the data server knows, in one call. */
+    public CompletableFuture<List<Employee>> fetchEmployeesByIds(@NonNull Collection<UUID> ids) {
+        return retryExecutor.execute("fetchEmployeesByIds", () -> {
+            log.info("Fetching {} employees by ID from {}", ids.size(), dataSourceUrl);
+            EmployeeResponse response = restClient
+                    .post()
+                    .uri("/lookup")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ids)
+                    .retrieve()
+                    .body(EmployeeResponse.class);
+            return response == null || response.getData() == null ? List.<Employee>of() : response.getData();
+        });
+    }
+
+    private CompletableFuture<Employee> createOne(EmployeeData employeeInput) {
+        return retryExecutor.execute("createEmployee", () -> {
+            log.info("Creating employee with input: {}", employeeInput);
+            SingleEmployeeResponse response = restClient
+                    .post()
+                    .accept(MediaType.APPLICATION_JSON)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(employeeInput)
+                    .retrieve()
+                    .body(SingleEmployeeResponse.class);
+            return response == null ? null : response.getData();
+        });
+    }
+
+    // a create that found nobody to share the window with keeps using the single endpoint
+    private CompletableFuture<List<Employee>> createBatch(List<EmployeeData> employeeInputs) {
+        if (employeeInputs.size() == 1) {
+            return createOne(employeeInputs.get(0)).thenApply(Collections::singletonList);
+        }
+        return createEmployees(employeeInputs);
+    }
+
+    /*
+     * A 4xx other than 429 may be down to one input in the batch, so its creates are retried one
+     * by one and only that input's create fails. A 429 has been retried already; splitting it
+     * would only send more requests into the limit.
+     */
+    private static boolean isRejectedBatch(Throwable failure) {
+        return failure instanceof HttpClientErrorException
+                && !(failure instanceof HttpClientErrorException.TooManyRequests);
+    }
+
+    public CompletableFuture<Boolean> deleteEmployeeByName(@NonNull String name) {
+        return retryExecutor.execute("deleteEmployeeByName", () -> {
+            log.info("Deleting employee with name: {}", name);
+            // server requires a name parameter, and accepts only RequestBody
+            Map<String, String> params = Map.of("name", name);
+            DeleteEmployeeResponse response = restClient
+                    .method(HttpMethod.DELETE)
+                    .uri(dataSourceUrl)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(params)
+                    .retrieve()
+                    .body(DeleteEmployeeResponse.class);
+            return response != null && Boolean.TRUE.equals(response.getData());
+        });
+    }
+
+    private static EmployeeSnapshot tagged(EmployeeSnapshot snapshot, HttpHeaders headers) {
+        String etag = headers.getETag();
+        String instance = headers.getFirst(INSTANCE_HEADER);
+        String sequence = headers.getFirst(SEQUENCE_HEADER);
+        if (instance == null || sequence == null) {
+            return snapshot.tagged(etag, null, -1);
+        }
+        try {
+            return snapshot.tagged(etag, instance, Long.parseLong(sequence.trim()));
+        } catch (NumberFormatException ex) {
+            log.debug("Ignoring unparseable {} header: {}", SEQUENCE_HEADER, sequence);
+            return snapshot.tagged(etag, null, -1);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.models.Employee;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams the data server's {@code {"data":[...]}} roster straight into an {@link EmployeeSnapshot}.
+ *
+ * <p>Employees are bound one at a time off the response stream into an
+ * {@link EmployeeSnapshot.Builder}, which indexes them as they arrive, so the payload itself is
+ * never buffered.
+ */
+final class EmployeeRosterReader {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader employeeReader;
+
+    EmployeeRosterReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    EmployeeSnapshot read(InputStream body) throws IOException {
+        EmployeeSnapshot.Builder snapshot = EmployeeSnapshot.builder();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected the roster to be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        snapshot.put(employeeReader.<Employee>readValue(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return snapshot.build();
+    }
+}
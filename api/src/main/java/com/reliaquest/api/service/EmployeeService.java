@@ -1,195 +1,510 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.configs.EmployeeBatchProperties;
+import com.reliaquest.api.configs.EmployeeSearchProperties;
 import com.reliaquest.api.models.Employee;
 import com.reliaquest.api.models.EmployeeData;
 import com.reliaquest.api.models.EmployeeResponse;
+import com.reliaquest.api.web.StaleResponseAdvice;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import jakarta.annotation.PostConstruct;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.constraints.NotNull;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.context.annotation.Bean;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @Slf4j
 public class EmployeeService {
 
-    private RestClient restClient;
-    private final ModelMapper modelMapper;
+    /*
+     * resilience4j instances, configured under resilience4j.* in application.yml. Each operation has
+     * its own circuit breaker and bulkhead, so slow writes cannot starve reads and a failing lookup
+     * does not open the breaker for the roster. Reads also have a time limiter and fall back to the
+     * last roster loaded; writes have none, because a create or delete abandoned mid-call may still
+     * land upstream, and are bounded by dataserver.retry.max-elapsed instead.
+     */
+    static final String LIST = "employeeList";
+    static final String BY_ID = "employeeById";
+    static final String CREATE = "employeeCreate";
+    static final String DELETE = "employeeDelete";
 
-    @Value("${dataserver.url}")
-    @NotNull private String dataSourceUrl;
+    private final EmployeeClient employeeClient;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeByIdCache byIdCache;
+    private final LastKnownGoodStore lastKnownGoodStore;
+    private final EmployeeSearchProperties searchProperties;
+    private final EmployeeBatchProperties batchProperties;
+    private final ModelMapper modelMapper;
+    private final MeterRegistry meterRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
 
     @Autowired
-    public EmployeeService(ModelMapper modelMapper) {
+    public EmployeeService(
+            EmployeeClient employeeClient,
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeByIdCache byIdCache,
+            LastKnownGoodStore lastKnownGoodStore,
+            EmployeeSearchProperties searchProperties,
+            EmployeeBatchProperties batchProperties,
+            ModelMapper modelMapper,
+            MeterRegistry meterRegistry,
+            TimeLimiterRegistry timeLimiterRegistry) {
+        this.employeeClient = employeeClient;
+        this.snapshotCache = snapshotCache;
+        this.byIdCache = byIdCache;
+        this.lastKnownGoodStore = lastKnownGoodStore;
+        this.searchProperties = searchProperties;
+        this.batchProperties = batchProperties;
         this.modelMapper = modelMapper;
+        this.meterRegistry = meterRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
     }
 
-    @PostConstruct
-    public void init() {
-        this.restClient = restClient(dataSourceUrl);
-        log.info("Initialized EmployeeService with data source URL: {}", dataSourceUrl);
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackAllEmployees")
+    @Bulkhead(name = LIST)
+    public EmployeeResponse getAllEmployees() {
+        return join(LIST, getAllEmployeesAsync());
     }
 
-    @Retryable(
-            value = {org.springframework.web.client.HttpClientErrorException.TooManyRequests.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 3000, multiplier = 2))
-    @Cacheable("employees")
-    @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackDefaultEmptyList")
-    public EmployeeResponse getAllEmployees() {
-        log.info("Fetching all employees from {}", dataSourceUrl);
-        return restClient.get().retrieve().body(EmployeeResponse.class);
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackAllEmployeesAsync")
+    @Bulkhead(name = LIST)
+    @TimeLimiter(name = LIST)
+    public CompletableFuture<EmployeeResponse> getAllEmployeesAsync() {
+        log.info("Fetching all employees");
+        return snapshot().thenApply(snapshot ->
+                EmployeeResponse.builder().data(snapshot.employees()).build());
     }
 
-    @Retryable(
-            value = {org.springframework.web.client.HttpClientErrorException.TooManyRequests.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 3000, multiplier = 2))
-    @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackDefaultEmptyList")
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackEmployeesByName")
+    @Bulkhead(name = LIST)
     public List<Employee> getEmployeesByName(String searchString) {
+        return join(LIST, getEmployeesByNameAsync(searchString));
+    }
+
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackEmployeesByName")
+    @Bulkhead(name = LIST)
+    public List<Employee> getEmployeesByName(String searchString, Integer offset, Integer limit) {
+        return join(LIST, getEmployeesByNameAsync(searchString, offset, limit));
+    }
+
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackEmployeesByNameAsync")
+    @Bulkhead(name = LIST)
+    @TimeLimiter(name = LIST)
+    public CompletableFuture<List<Employee>> getEmployeesByNameAsync(String searchString) {
+        return getEmployeesByNameAsync(searchString, null, null);
+    }
+
+    /**
+     * Employees whose name contains {@code searchString}, ignoring case, in roster order.
+     * {@code limit} defaults to and is capped at {@code employees.search.max-results}.
+     */
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackEmployeesByNameAsync")
+    @Bulkhead(name = LIST)
+    @TimeLimiter(name = LIST)
+    public CompletableFuture<List<Employee>> getEmployeesByNameAsync(
+            String searchString, Integer offset, Integer limit) {
         log.info("Searching for employees with name containing: {}", searchString);
-        return getAllEmployees().getData().stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList());
+        return snapshot().thenApply(snapshot -> search(snapshot, searchString, offset, limit));
     }
 
-    @Retryable(
-            value = {org.springframework.web.client.HttpClientErrorException.TooManyRequests.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 3000, multiplier = 2))
-    @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackDefaultEmptyEmployee")
+    private List<Employee> search(EmployeeSnapshot snapshot, String searchString, Integer offset, Integer limit) {
+        int maxResults = searchProperties.getMaxResults();
+        int pageSize = limit == null ? maxResults : Math.min(Math.max(limit, 0), maxResults);
+        int skip = offset == null ? 0 : Math.max(offset, 0);
+        return snapshot.searchByName(searchString, skip, pageSize);
+    }
+
+    @CircuitBreaker(name = BY_ID, fallbackMethod = "fallbackEmployeeById")
+    @Bulkhead(name = BY_ID)
     public Employee getEmployeeById(@NotNull String id) {
+        return join(BY_ID, getEmployeeByIdAsync(id));
+    }
+
+    @CircuitBreaker(name = BY_ID, fallbackMethod = "fallbackEmployeeByIdAsync")
+    @Bulkhead(name = BY_ID)
+    @TimeLimiter(name = BY_ID)
+    public CompletableFuture<Employee> getEmployeeByIdAsync(@NotNull String id) {
         log.info("Fetching employee with ID: {}", id);
-        return getAllEmployees().getData().stream()
-                .filter(employee -> Objects.nonNull(employee.getId().toString())
-                        && employee.getId().toString().equals(id))
-                .findFirst()
-                .orElse(null);
-//        return restClient.get()
-//                .uri(dataSourceUrl + "/" + id)
-//                .accept(MediaType.APPLICATION_JSON)
-//                .retrieve()
-//                .body(Employee.class);
-    }
-
-    @Retryable(
-            value = {org.springframework.web.client.HttpClientErrorException.TooManyRequests.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 3000, multiplier = 2))
-    @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackDefaultEmptyList")
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            log.info("Ignoring lookup of malformed employee ID: {}", id);
+            return CompletableFuture.completedFuture(null);
+        }
+        // a loaded roster is authoritative; cold lookups fetch just this employee
+        Optional<EmployeeSnapshot> roster = snapshotCache.getIfPresent();
+        if (roster.isPresent()) {
+            return CompletableFuture.completedFuture(roster.get().findById(uuid).orElse(null));
+        }
+        // a lookup cancelled by the time limiter stops retrying unless someone else waits for it
+        return Futures.thenApplyCancelling(byIdCache.get(uuid), employee -> employee.orElse(null));
+    }
+
+    @CircuitBreaker(name = BY_ID, fallbackMethod = "fallbackEmployeesByIds")
+    @Bulkhead(name = BY_ID)
+    public List<Employee> getEmployeesByIds(@NonNull List<String> ids) {
+        return join(BY_ID, getEmployeesByIdsAsync(ids));
+    }
+
+    /**
+     * The known employees among {@code ids}, in the order asked for; malformed and unknown ids are
+     * left out. Without a loaded roster, ids not in the by-id cache cost one upstream call together.
+     */
+    @CircuitBreaker(name = BY_ID, fallbackMethod = "fallbackEmployeesByIdsAsync")
+    @Bulkhead(name = BY_ID)
+    @TimeLimiter(name = BY_ID)
+    public CompletableFuture<List<Employee>> getEmployeesByIdsAsync(@NonNull List<String> ids) {
+        checkBatchSize(ids.size());
+        log.info("Fetching {} employees by ID", ids.size());
+        Set<UUID> uuids = new LinkedHashSet<>();
+        for (String id : ids) {
+            try {
+                uuids.add(UUID.fromString(id.trim()));
+            } catch (IllegalArgumentException ex) {
+                log.info("Ignoring lookup of malformed employee ID: {}", id);
+            }
+        }
+        Optional<EmployeeSnapshot> roster = snapshotCache.getIfPresent();
+        if (roster.isPresent()) {
+            return CompletableFuture.completedFuture(uuids.stream()
+                    .map(roster.get()::findById)
+                    .flatMap(Optional::stream)
+                    .toList());
+        }
+        return byIdCache.getAll(uuids).thenApply(found -> uuids.stream()
+                .map(uuid -> found.getOrDefault(uuid, Optional.empty()))
+                .flatMap(Optional::stream)
+                .toList());
+    }
+
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackHighestSalary")
+    @Bulkhead(name = LIST)
     public Integer getHighestSalaryOfEmployees() {
+        return join(LIST, getHighestSalaryOfEmployeesAsync());
+    }
+
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackHighestSalaryAsync")
+    @Bulkhead(name = LIST)
+    @TimeLimiter(name = LIST)
+    public CompletableFuture<Integer> getHighestSalaryOfEmployeesAsync() {
         log.info("Fetching highest salary from all employees");
-        return getAllEmployees().getData().stream()
-                .map(Employee::getSalary)
-                .max(Integer::compareTo)
-                .orElse(null);
+        return snapshot().thenApply(EmployeeSnapshot::highestSalary);
     }
 
-    @Retryable(
-            value = {org.springframework.web.client.HttpClientErrorException.TooManyRequests.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 3000, multiplier = 2))
-    @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackDefaultEmptyList")
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackHighestEarningEmployeeNames")
+    @Bulkhead(name = LIST)
     public List<String> getHighestEarningEmployeeNames() {
+        return join(LIST, getHighestEarningEmployeeNamesAsync());
+    }
+
+    @CircuitBreaker(name = LIST, fallbackMethod = "fallbackHighestEarningEmployeeNamesAsync")
+    @Bulkhead(name = LIST)
+    @TimeLimiter(name = LIST)
+    public CompletableFuture<List<String>> getHighestEarningEmployeeNamesAsync() {
         log.info("Fetching names of employees with the highest salary");
-        List<Employee> employees = getAllEmployees().getData();
+        return snapshot().thenApply(EmployeeSnapshot::topEarnerNames);
+    }
+
+    /*
+     * A roster that cannot be loaded is answered with the last one loaded, marked stale. The request
+     * is captured here, on the calling thread, because the load may fail on another.
+     */
+    CompletableFuture<EmployeeSnapshot> snapshot() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return snapshotCache.getAsync().exceptionallyCompose(ex -> lastKnownGood("roster", request, ex)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> CompletableFuture.failedFuture(ex)));
+    }
 
-        Integer maxSalary =
-                employees.stream().mapToInt(Employee::getSalary).max().orElseThrow();
+    @CircuitBreaker(name = CREATE, fallbackMethod = "fallbackCreateEmployee")
+    @Bulkhead(name = CREATE)
+    public Employee createEmployee(@NonNull EmployeeData employeeInput) {
+        return Futures.join(createEmployeeAsync(employeeInput));
+    }
 
-        log.info("Max salary is {}", maxSalary);
+    @CircuitBreaker(name = CREATE, fallbackMethod = "fallbackCreateEmployeeAsync")
+    @Bulkhead(name = CREATE)
+    public CompletableFuture<Employee> createEmployeeAsync(@NonNull EmployeeData employeeInput) {
+        return employeeClient.createEmployee(employeeInput).thenApply(created -> {
+            if (created != null && created.getId() != null) {
+                snapshotCache.onCreated(created);
+                byIdCache.onCreated(created);
+            }
+            return created;
+        });
+    }
 
-        return employees.stream()
-                .filter(employee -> employee.getSalary() < maxSalary)
-                .limit(10)
-                .map(Employee::getName)
-                .collect(Collectors.toList());
+    @CircuitBreaker(name = CREATE, fallbackMethod = "fallbackCreateEmployees")
+    @Bulkhead(name = CREATE)
+    public List<Employee> createEmployees(@NonNull List<EmployeeData> employeeInputs) {
+        return Futures.join(createEmployeesAsync(employeeInputs));
     }
-    @Retryable(
-            value = {org.springframework.web.client.HttpClientErrorException.TooManyRequests.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 3000, multiplier = 2))
-    @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackDefaultEmptyEmployee")
-    public Employee createEmployee(@NonNull EmployeeData employeeInput) {
-        log.info("Creating employee with input: {}", employeeInput);
-        return restClient
-                .post()
-                .uri("/createEmployee")
-                .accept(MediaType.APPLICATION_JSON)
-                .body(employeeInput)
-                .retrieve()
-                .body(Employee.class);
-    }
-
-    @Retryable(
-            value = {org.springframework.web.client.HttpClientErrorException.TooManyRequests.class},
-            maxAttempts = 5,
-            backoff = @Backoff(delay = 3000, multiplier = 2))
-    @CircuitBreaker(name = "employeeService", fallbackMethod = "fallbackDeleteEmployeeById")
+
+    /** Creates the employees with one call to the data server, returned in input order. */
+    @CircuitBreaker(name = CREATE, fallbackMethod = "fallbackCreateEmployeesAsync")
+    @Bulkhead(name = CREATE)
+    public CompletableFuture<List<Employee>> createEmployeesAsync(@NonNull List<EmployeeData> employeeInputs) {
+        checkBatchSize(employeeInputs.size());
+        if (employeeInputs.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return employeeClient.createEmployees(employeeInputs).thenApply(created -> {
+            List<Employee> identified = created.stream()
+                    .filter(employee -> employee != null && employee.getId() != null)
+                    .toList();
+            snapshotCache.onCreated(identified);
+            identified.forEach(byIdCache::onCreated);
+            return created;
+        });
+    }
+
+    @CircuitBreaker(name = DELETE, fallbackMethod = "fallbackDeleteEmployeeById")
+    @Bulkhead(name = DELETE)
     public String deleteEmployeeById(String id) {
-        Employee employeeById = getEmployeeById(id);
+        return Futures.join(deleteEmployeeByIdAsync(id));
+    }
+
+    @CircuitBreaker(name = DELETE, fallbackMethod = "fallbackDeleteEmployeeByIdAsync")
+    @Bulkhead(name = DELETE)
+    public CompletableFuture<String> deleteEmployeeByIdAsync(String id) {
+        return getEmployeeByIdAsync(id).thenCompose(employeeById -> {
+            if (employeeById == null) {
+                throw new NoSuchElementException("Employee not found: " + id);
+            }
 
-        log.info("Deleting employee with ID: {}", id);
-        // server requires a name parameter, and accepts only RequestBody
-        Map<String, String> params = Map.of("name", employeeById.getName());
-        return restClient
-                .method(HttpMethod.DELETE)
-                .uri(dataSourceUrl)
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(params)
-                .retrieve()
-                .body(String.class);
+            log.info("Deleting employee with ID: {}", id);
+            return employeeClient.deleteEmployeeByName(employeeById.getName()).thenApply(deleted -> {
+                if (!deleted) {
+                    throw new NoSuchElementException("Employee not found: " + id);
+                }
+                snapshotCache.onDeleted(employeeById.getId());
+                byIdCache.onDeleted(employeeById.getId());
+                return employeeById.getName();
+            });
+        });
     }
 
-    @Bean
-    public RestClient restClient(@Value("${dataserver.url}") String baseUrl) {
-        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
-        cm.setMaxTotal(50);
-        cm.setDefaultMaxPerRoute(10);
+    /*
+     * Fallbacks must take the guarded method's arguments plus the exception, or resilience4j does
+     * not find them. Reads are answered from the last roster loaded while there is one, marked stale.
+     * Without one they fail with 503, as writes always do: an empty list or a missing salary would
+     * read as a real answer. Each invocation is counted as employees.fallbacks by method, exception
+     * and what was served.
+     */
+    EmployeeResponse fallbackAllEmployees(Throwable ex) {
+        return staleFallback("getAllEmployees", ex)
+                .map(snapshot -> EmployeeResponse.builder().data(snapshot.employees()).build())
+                .orElseThrow(() -> unavailable("getAllEmployees", ex));
+    }
 
-        CloseableHttpClient httpClient =
-                HttpClients.custom().setConnectionManager(cm).build();
+    List<Employee> fallbackEmployeesByName(String searchString, Throwable ex) {
+        return fallbackEmployeesByName(searchString, null, null, ex);
+    }
 
-        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+    List<Employee> fallbackEmployeesByName(String searchString, Integer offset, Integer limit, Throwable ex) {
+        return staleFallback("getEmployeesByName", ex)
+                .map(snapshot -> search(snapshot, searchString, offset, limit))
+                .orElseThrow(() -> unavailable("getEmployeesByName", ex));
+    }
+
+    Employee fallbackEmployeeById(String id, Throwable ex) {
+        Optional<EmployeeSnapshot> stale = staleFallback("getEmployeeById", ex);
+        if (stale.isPresent()) {
+            return uuid(id).flatMap(stale.get()::findById).orElse(null);
+        }
+        throw unavailable("getEmployeeById", ex);
+    }
 
-        log.info("Creating RestClient pool wih {} connections on base URL: {}", 50, baseUrl);
+    List<Employee> fallbackEmployeesByIds(List<String> ids, Throwable ex) {
+        return staleFallback("getEmployeesByIds", ex)
+                .map(snapshot -> ids.stream()
+                        .map(EmployeeService::uuid)
+                        .flatMap(Optional::stream)
+                        .distinct()
+                        .map(snapshot::findById)
+                        .flatMap(Optional::stream)
+                        .toList())
+                .orElseThrow(() -> unavailable("getEmployeesByIds", ex));
+    }
 
-        return RestClient.builder().baseUrl(baseUrl).requestFactory(factory).build();
+    Integer fallbackHighestSalary(Throwable ex) {
+        Optional<EmployeeSnapshot> stale = staleFallback("getHighestSalaryOfEmployees", ex);
+        if (stale.isPresent()) {
+            return stale.get().highestSalary();
+        }
+        throw unavailable("getHighestSalaryOfEmployees", ex);
     }
 
-    EmployeeResponse fallbackDefaultEmptyList(Throwable ex) {
-        log.error("Rate limit exceeded. Returning fallback response.", ex);
-        return new EmployeeResponse(Collections.emptyList(), "error", "Rate limit exceeded");
+    List<String> fallbackHighestEarningEmployeeNames(Throwable ex) {
+        return staleFallback("getHighestEarningEmployeeNames", ex)
+                .map(EmployeeSnapshot::topEarnerNames)
+                .orElseThrow(() -> unavailable("getHighestEarningEmployeeNames", ex));
     }
 
-    Employee fallbackDefaultEmptyEmployee(Throwable ex) {
-        log.error("Rate limit exceeded. Returning fallback response.", ex);
-        return Employee.builder().build();
+    Employee fallbackCreateEmployee(EmployeeData employeeInput, Throwable ex) {
+        throw unavailable("createEmployee", ex);
     }
 
+    List<Employee> fallbackCreateEmployees(List<EmployeeData> employeeInputs, Throwable ex) {
+        throw unavailable("createEmployees", ex);
+    }
 
     String fallbackDeleteEmployeeById(String id, Throwable ex) {
-        log.error("Rate limit exceeded for delete operation.", ex);
-        //in this case, we return an empty string as the fallback response
-        return "";
+        throw unavailable("deleteEmployeeById", ex);
+    }
+
+    /*
+     * The asynchronous methods' fallbacks run where the call failed, usually not on the request
+     * thread, so a stale answer from them is not marked in the response headers. A fallback that
+     * has no answer fails the returned future rather than throwing.
+     */
+    CompletableFuture<EmployeeResponse> fallbackAllEmployeesAsync(Throwable ex) {
+        return orFailed(() -> fallbackAllEmployees(ex));
+    }
+
+    CompletableFuture<List<Employee>> fallbackEmployeesByNameAsync(String searchString, Throwable ex) {
+        return orFailed(() -> fallbackEmployeesByName(searchString, ex));
     }
 
+    CompletableFuture<List<Employee>> fallbackEmployeesByNameAsync(
+            String searchString, Integer offset, Integer limit, Throwable ex) {
+        return orFailed(() -> fallbackEmployeesByName(searchString, offset, limit, ex));
+    }
+
+    CompletableFuture<Employee> fallbackEmployeeByIdAsync(String id, Throwable ex) {
+        return orFailed(() -> fallbackEmployeeById(id, ex));
+    }
+
+    CompletableFuture<List<Employee>> fallbackEmployeesByIdsAsync(List<String> ids, Throwable ex) {
+        return orFailed(() -> fallbackEmployeesByIds(ids, ex));
+    }
+
+    CompletableFuture<Integer> fallbackHighestSalaryAsync(Throwable ex) {
+        return orFailed(() -> fallbackHighestSalary(ex));
+    }
+
+    CompletableFuture<List<String>> fallbackHighestEarningEmployeeNamesAsync(Throwable ex) {
+        return orFailed(() -> fallbackHighestEarningEmployeeNames(ex));
+    }
+
+    CompletableFuture<Employee> fallbackCreateEmployeeAsync(EmployeeData employeeInput, Throwable ex) {
+        return orFailed(() -> fallbackCreateEmployee(employeeInput, ex));
+    }
+
+    CompletableFuture<List<Employee>> fallbackCreateEmployeesAsync(List<EmployeeData> employeeInputs, Throwable ex) {
+        return orFailed(() -> fallbackCreateEmployees(employeeInputs, ex));
+    }
+
+    CompletableFuture<String> fallbackDeleteEmployeeByIdAsync(String id, Throwable ex) {
+        return orFailed(() -> fallbackDeleteEmployeeById(id, ex));
+    }
+
+    private static <T> CompletableFuture<T> orFailed(Supplier<T> fallback) {
+        try {
+            return CompletableFuture.completedFuture(fallback.get());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    /*
+     * Waits no longer than the read's time limiter allows, so a stuck upstream call cannot hold the
+     * request thread; the asynchronous reads get the same limit from @TimeLimiter.
+     */
+    private <T> T join(String operation, CompletableFuture<T> future) {
+        try {
+            return timeLimiterRegistry.timeLimiter(operation).executeFutureSupplier(() -> future);
+        } catch (Exception ex) {
+            Throwable cause = ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(cause);
+        }
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > batchProperties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                    "Batch of " + size + " exceeds employees.batch.max-size of " + batchProperties.getMaxSize());
+        }
+    }
+
+    private static Optional<UUID> uuid(String id) {
+        try {
+            return Optional.of(UUID.fromString(id.trim()));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<EmployeeSnapshot> staleFallback(String method, Throwable ex) {
+        rethrowAnswers(ex);
+        return lastKnownGood(method, RequestContextHolder.getRequestAttributes(), ex);
+    }
+
+    private Optional<EmployeeSnapshot> lastKnownGood(String method, RequestAttributes request, Throwable ex) {
+        return lastKnownGoodStore.get().map(lastKnownGood -> {
+            Throwable cause = Futures.unwrap(ex);
+            countFallback(method, cause, "stale");
+            log.warn(
+                    "Upstream call failed in {}: {}. Serving the roster as of {}.",
+                    method,
+                    cause.toString(),
+                    lastKnownGood.asOf());
+            StaleResponseAdvice.mark(request, lastKnownGood.asOf());
+            return lastKnownGood.snapshot();
+        });
+    }
+
+    /** The data server could not answer and there is nothing to serve instead. */
+    private ResponseStatusException unavailable(String method, Throwable ex) {
+        fallingBack(method, ex);
+        return new ResponseStatusException(
+                HttpStatus.SERVICE_UNAVAILABLE, "Employee data is temporarily unavailable", Futures.unwrap(ex));
+    }
+
+    private void fallingBack(String method, Throwable ex) {
+        rethrowAnswers(ex);
+        countFallback(method, Futures.unwrap(ex), "default");
+        log.error("Upstream call failed in {}. Returning fallback response.", method, ex);
+    }
+
+    /** A missing employee or a bad request is an answer, not an upstream failure; it reaches the caller as is. */
+    private static void rethrowAnswers(Throwable ex) {
+        if (ex instanceof NoSuchElementException notFound) {
+            throw notFound;
+        }
+        if (ex instanceof IllegalArgumentException badRequest) {
+            throw badRequest;
+        }
+    }
+
+    private void countFallback(String method, Throwable ex, String served) {
+        Counter.builder("employees.fallbacks")
+                .description("Fallback responses served instead of data from the data server")
+                .tag("method", method)
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("served", served)
+                .register(meterRegistry)
+                .increment();
+    }
 }
 // TODO: use SSL to secure the API endpoints and implement the other methods as per the interface requirements.
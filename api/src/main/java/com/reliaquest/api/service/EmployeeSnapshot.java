@@ -0,0 +1,305 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import com.reliaquest.api.models.EmployeeChanges;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Indexed view over a fetch of the employee roster: a UUID hash index, the roster in upstream
+ * order, a {@link TopEarnersIndex} and a {@link NameSearchIndex}.
+ *
+ * <p>Immutable, so it can be shared by readers, the cache and {@link LastKnownGoodStore} without
+ * locking. Creates, deletes and change-feed deltas produce a new snapshot for the caller to swap
+ * in, carrying the roster's ETag and change-feed position along. It shares everything the changes
+ * do not touch with this one: a changed employee copies one roster chunk, one id shard and one
+ * chunk of each of its trigram postings, plus their directories, each at most once per change
+ * set. That is about O(sqrt n) per employee instead of a re-index. Only deleting one of the top
+ * earners selects them from the roster again, in O(n log k).
+ */
+public final class EmployeeSnapshot {
+
+    /** How many top earners are kept materialized. */
+    static final int TOP_EARNERS = 10;
+
+    private static final EmployeeSnapshot EMPTY = new EmployeeSnapshot(
+            SlotList.EMPTY,
+            ShardedMap.empty(),
+            TopEarnersIndex.of(List.of(), TOP_EARNERS),
+            NameSearchIndex.EMPTY,
+            1,
+            null,
+            null,
+            -1);
+
+    /** Slots in ascending sequence order; sequence numbers only grow, so that is roster order. */
+    private final SlotList roster;
+
+    private final List<Employee> employees;
+    private final ShardedMap<UUID, Slot> byId;
+    private final TopEarnersIndex topEarners;
+    private final NameSearchIndex names;
+    /** Sequence number of the next employee added. */
+    private final long nextSeq;
+
+    private final String etag;
+    private final String changeInstance;
+    private final long changeSequence;
+
+    private EmployeeSnapshot(
+            SlotList roster,
+            ShardedMap<UUID, Slot> byId,
+            TopEarnersIndex topEarners,
+            NameSearchIndex names,
+            long nextSeq,
+            String etag,
+            String changeInstance,
+            long changeSequence) {
+        this.roster = roster;
+        this.employees = roster.employees();
+        this.byId = byId;
+        this.topEarners = topEarners;
+        this.names = names;
+        this.nextSeq = nextSeq;
+        this.etag = etag;
+        this.changeInstance = changeInstance;
+        this.changeSequence = changeSequence;
+    }
+
+    /** Indexes {@code employees}; a later employee replaces an earlier one with the same id. */
+    public static EmployeeSnapshot of(List<Employee> employees) {
+        if (employees == null || employees.isEmpty()) {
+            return empty();
+        }
+        Builder builder = builder();
+        employees.forEach(builder::put);
+        return builder.build();
+    }
+
+    /** For a roster that arrives one employee at a time. */
+    static Builder builder() {
+        return new Builder(EMPTY);
+    }
+
+    public static EmployeeSnapshot empty() {
+        return EMPTY;
+    }
+
+    /** Roster in upstream order, followed by employees created since it was fetched. */
+    public List<Employee> employees() {
+        return employees;
+    }
+
+    public Optional<Employee> findById(@NonNull UUID id) {
+        Slot slot = byId.get(id);
+        return slot == null ? Optional.empty() : Optional.of(slot.employee());
+    }
+
+    public Integer highestSalary() {
+        return topEarners.highestSalary();
+    }
+
+    /** The {@code k} best paid employees, highest salary first and ties by name. */
+    public List<Employee> topEarners(int k) {
+        return topEarners.top(k, roster);
+    }
+
+    /** Names of the {@value #TOP_EARNERS} best paid employees, highest salary first and ties by name. */
+    public List<String> topEarnerNames() {
+        return topEarners.topNames();
+    }
+
+    /**
+     * Page of the employees whose name contains {@code searchString}, ignoring case, in roster
+     * order. Needles of three or more characters only visit the names sharing their rarest
+     * trigram; nothing is allocated for names that do not match.
+     */
+    public List<Employee> searchByName(@NonNull String searchString, int offset, int limit) {
+        String needle = NameSearchIndex.normalize(searchString);
+        List<Employee> page = new ArrayList<>(Math.max(Math.min(limit, 64), 0));
+        if (limit <= 0) {
+            return page;
+        }
+        int skip = Math.max(offset, 0);
+        Iterator<Slot> slots = candidates(needle);
+        while (slots.hasNext()) {
+            Slot slot = slots.next();
+            if (slot.searchName() == null || !slot.searchName().contains(needle)) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            page.add(slot.employee());
+            if (page.size() >= limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    public int size() {
+        return roster.size();
+    }
+
+    /** Validator the data server sent with this roster, or {@code null} if it sent none. */
+    public String etag() {
+        return etag;
+    }
+
+    /** Data server instance whose change feed this roster follows, or {@code null} if unknown. */
+    public String changeInstance() {
+        return changeInstance;
+    }
+
+    /** Last change of {@link #changeInstance()} this roster includes, or -1 if unknown. */
+    public long changeSequence() {
+        return changeSequence;
+    }
+
+    /** This roster as fetched with the given validator and change-feed position. */
+    EmployeeSnapshot tagged(String etag, String changeInstance, long changeSequence) {
+        return new EmployeeSnapshot(
+                roster, byId, topEarners, names, nextSeq, etag, changeInstance, changeSequence);
+    }
+
+    /**
+     * This roster with changes from the data server's feed applied. They may repeat ones this
+     * roster already has, which leaves the employees unchanged.
+     */
+    EmployeeSnapshot withChanges(@NonNull EmployeeChanges changes) {
+        if (changes.getChanges().isEmpty()) {
+            return tagged(etag, changeInstance, changes.getSequence());
+        }
+        Builder builder = toBuilder();
+        for (EmployeeChange change : changes.getChanges()) {
+            Employee employee = change.getEmployee();
+            if (employee == null || change.getType() == null) {
+                continue;
+            }
+            switch (change.getType()) {
+                case CREATED -> builder.put(employee);
+                case DELETED -> {
+                    if (employee.getId() != null) {
+                        builder.remove(employee.getId());
+                    }
+                }
+            }
+        }
+        // no longer the representation the data server tagged
+        return builder.build(null, changeInstance, changes.getSequence());
+    }
+
+    /** This roster with the employee added at the end, replacing any entry with the same id. */
+    EmployeeSnapshot with(@NonNull Employee employee) {
+        return toBuilder().put(employee).build(etag, changeInstance, changeSequence);
+    }
+
+    /** This roster with the employees added at the end, in order, as one change set. */
+    EmployeeSnapshot withAll(@NonNull Collection<Employee> employees) {
+        if (employees.isEmpty()) {
+            return this;
+        }
+        Builder builder = toBuilder();
+        employees.forEach(builder::put);
+        return builder.build(etag, changeInstance, changeSequence);
+    }
+
+    /** This roster without the employee, or this roster itself if it has no such employee. */
+    EmployeeSnapshot without(@NonNull UUID id) {
+        if (!byId.containsKey(id)) {
+            return this;
+        }
+        return toBuilder().remove(id).build(etag, changeInstance, changeSequence);
+    }
+
+    private Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /** Slots that may match {@code needle}, in roster order. */
+    private Iterator<Slot> candidates(String needle) {
+        SlotList candidates = names.candidates(needle);
+        return (candidates == null ? roster : candidates).iterator();
+    }
+
+    record Slot(long seq, Employee employee, String searchName) {}
+
+    /**
+     * Employees being assembled into a snapshot, in order and keyed by id, indexed as they arrive.
+     * Started from a snapshot, it copies only what the changes touch; see {@link EmployeeSnapshot}.
+     */
+    static final class Builder {
+
+        private final SlotList.Editor roster;
+        private final ShardedMap.Editor<UUID, Slot> byId;
+        private final TopEarnersIndex.Editor topEarners;
+        private final NameSearchIndex.Editor names;
+        private long nextSeq;
+
+        private Builder(EmployeeSnapshot base) {
+            this.roster = base.roster.edit();
+            this.byId = base.byId.edit();
+            this.topEarners = base.topEarners.edit();
+            this.names = base.names.edit();
+            this.nextSeq = base.nextSeq;
+        }
+
+        /** Appends the employee, replacing any entry with the same id. */
+        Builder put(@NonNull Employee employee) {
+            // employees without an id cannot be replaced or looked up, only listed and searched
+            if (employee.getId() != null) {
+                Slot previous = byId.get(employee.getId());
+                if (previous != null) {
+                    unlink(previous);
+                }
+            }
+            Slot slot = new Slot(nextSeq++, employee, NameSearchIndex.normalize(employee.getName()));
+            roster.append(slot);
+            if (employee.getId() != null) {
+                byId.put(employee.getId(), slot);
+            }
+            topEarners.add(slot);
+            names.add(slot);
+            return this;
+        }
+
+        Builder remove(@NonNull UUID id) {
+            Slot slot = byId.remove(id);
+            if (slot != null) {
+                unlink(slot);
+            }
+            return this;
+        }
+
+        EmployeeSnapshot build() {
+            return build(null, null, -1);
+        }
+
+        private EmployeeSnapshot build(String etag, String changeInstance, long changeSequence) {
+            SlotList built = roster.build();
+            return new EmployeeSnapshot(
+                    built,
+                    byId.build(),
+                    topEarners.build(built),
+                    names.build(),
+                    nextSeq,
+                    etag,
+                    changeInstance,
+                    changeSequence);
+        }
+
+        private void unlink(Slot slot) {
+            roster.remove(slot.seq());
+            topEarners.remove(slot);
+            names.remove(slot);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the indexed employee roster.
+ *
+ * <p>With the Caffeine provider the roster is loaded once and shared by concurrent misses, reads
+ * past {@code refresh-after} are served the stale roster while a reload runs in the background,
+ * and a scheduler refreshes ahead of time so requests rarely wait on the data server or its
+ * retry backoff. A failed reload keeps the previous roster until {@code ttl} expires; every roster
+ * loaded is also handed to {@link LastKnownGoodStore}, which outlives that. Reloads are
+ * conditional, so an unchanged roster costs a 304 and keeps the indexed snapshot. With
+ * {@code delta-sync} a reload first asks the data server's change feed for what happened since
+ * the cached roster and applies it to a copy; only when the feed cannot cover the gap is the
+ * roster fetched in full.
+ *
+ * <p>Successful creates and deletes are written through rather than invalidating the roster:
+ * the cache holds a reference to the current {@link EmployeeSnapshot}, and each write swaps in a
+ * patched copy, so snapshots already handed out never change. Writes and the installation of a
+ * loaded roster take the same lock, so a write cannot land between a reload replaying the recent
+ * writes and the reloaded roster becoming visible.
+ *
+ * <p>Hit, miss and load statistics are published as the {@code employees} cache; roster loads are
+ * timed as {@code employees.roster.load} and the cached roster size is {@code employees.roster.size}.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotCache {
+
+    private static final String ROSTER = "roster";
+
+    private final EmployeeClient employeeClient;
+    private final EmployeeCacheProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final AsyncLoadingCache<String, AtomicReference<EmployeeSnapshot>> cache;
+    private final Queue<Patch> recentPatches = new ArrayDeque<>();
+    // the holder most recently installed in the cache; read and written with recentPatches locked
+    private AtomicReference<EmployeeSnapshot> installed;
+    private final LastKnownGoodStore lastKnownGood;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            EmployeeClient employeeClient,
+            EmployeeCacheProperties properties,
+            LastKnownGoodStore lastKnownGood,
+            MeterRegistry meterRegistry) {
+        this(employeeClient, properties, lastKnownGood, meterRegistry, Ticker.systemTicker());
+    }
+
+    EmployeeSnapshotCache(
+            EmployeeClient employeeClient,
+            EmployeeCacheProperties properties,
+            LastKnownGoodStore lastKnownGood,
+            MeterRegistry meterRegistry,
+            Ticker ticker) {
+        this.employeeClient = employeeClient;
+        this.properties = properties;
+        this.lastKnownGood = lastKnownGood;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threads = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "employee-cache-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = Caffeine.newBuilder()
+                .executor(scheduler)
+                .ticker(ticker)
+                .expireAfterWrite(properties.getTtl())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<>() {
+                    @Override
+                    public CompletableFuture<AtomicReference<EmployeeSnapshot>> asyncLoad(
+                            String key, Executor executor) {
+                        return load(null).thenApply(fetched -> install(new AtomicReference<>(), fetched));
+                    }
+
+                    @Override
+                    public CompletableFuture<AtomicReference<EmployeeSnapshot>> asyncReload(
+                            String key, AtomicReference<EmployeeSnapshot> current, Executor executor) {
+                        return reload(current.get()).thenApply(fetched -> install(current, fetched));
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "employees");
+        Gauge.builder("employees.roster.size", this, snapshotCache -> snapshotCache.getIfPresent()
+                        .map(EmployeeSnapshot::size)
+                        .orElse(0))
+                .description("Employees in the cached roster, 0 while none is loaded")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isCaching()) {
+            log.info("Employee cache disabled; every read loads the roster from the data server");
+            return;
+        }
+        if (properties.isPreload()) {
+            cache.get(ROSTER).whenComplete((snapshot, ex) -> {
+                if (ex != null) {
+                    log.warn("Failed to preload employee roster: {}", ex.getMessage());
+                }
+            });
+        }
+        Duration interval = properties.getRefreshInterval();
+        if (interval != null && !interval.isZero() && !interval.isNegative()) {
+            scheduler.scheduleWithFixedDelay(
+                    this::refresh, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+            log.info(
+                    "Employee cache refreshes every {} (refresh-after {}, ttl {})",
+                    interval,
+                    properties.getRefreshAfter(),
+                    properties.getTtl());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /** Current roster; only blocks when nothing has been loaded yet or the roster has expired. */
+    public EmployeeSnapshot get() {
+        return Futures.join(getAsync());
+    }
+
+    /** Current roster; only incomplete when nothing has been loaded yet or the roster has expired. */
+    public CompletableFuture<EmployeeSnapshot> getAsync() {
+        return isCaching()
+                ? cache.get(ROSTER).thenApply(AtomicReference::get)
+                : load(null).thenApply(Fetched::snapshot);
+    }
+
+    /** Current roster if one is loaded, without ever calling the data server. */
+    public Optional<EmployeeSnapshot> getIfPresent() {
+        return current().map(AtomicReference::get);
+    }
+
+    /** Write-through of a successful upstream create. */
+    public void onCreated(@NonNull Employee employee) {
+        apply(new Patch(System.nanoTime(), snapshot -> snapshot.with(employee)));
+    }
+
+    /** Write-through of a successful upstream batch create, patched into the roster in one go. */
+    public void onCreated(@NonNull Collection<Employee> employees) {
+        if (!employees.isEmpty()) {
+            List<Employee> created = List.copyOf(employees);
+            apply(new Patch(System.nanoTime(), snapshot -> snapshot.withAll(created)));
+        }
+    }
+
+    /*
+     * Write-through of a successful upstream delete. The data server deletes the first employee
+     * whose name matches, so with duplicate names the roster may differ until the next refresh.
+     */
+    public void onDeleted(@NonNull UUID id) {
+        apply(new Patch(System.nanoTime(), snapshot -> snapshot.without(id)));
+    }
+
+    /*
+     * Patches are kept until a load that started after them completes, so a roster fetched
+     * before the write landed upstream does not undo it.
+     */
+    private void apply(Patch patch) {
+        if (!isCaching()) {
+            return;
+        }
+        synchronized (recentPatches) {
+            recentPatches.add(patch);
+            if (installed != null) {
+                installed.updateAndGet(patch.change());
+            }
+        }
+    }
+
+    /*
+     * Reloads update the holder already in the cache rather than replacing it, so readers that
+     * still see it get the reloaded roster too.
+     */
+    private AtomicReference<EmployeeSnapshot> install(AtomicReference<EmployeeSnapshot> holder, Fetched fetched) {
+        synchronized (recentPatches) {
+            holder.set(patched(fetched.snapshot(), fetched.startedAt()));
+            installed = holder;
+            return holder;
+        }
+    }
+
+    private Optional<AtomicReference<EmployeeSnapshot>> current() {
+        CompletableFuture<AtomicReference<EmployeeSnapshot>> future = cache.getIfPresent(ROSTER);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(future.getNow(null));
+    }
+
+    private void refresh() {
+        try {
+            cache.synchronous().refresh(ROSTER);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to schedule employee roster refresh: {}", ex.getMessage());
+        }
+    }
+
+    private EmployeeSnapshot loaded(EmployeeSnapshot snapshot) {
+        lastKnownGood.save(snapshot);
+        return snapshot;
+    }
+
+    private CompletableFuture<Fetched> load(EmployeeSnapshot current) {
+        long startedAt = System.nanoTime();
+        return timed("full", startedAt, employeeClient.fetchRoster(current)).thenApply(snapshot -> {
+            log.debug("Indexed {} employees", snapshot.size());
+            return new Fetched(loaded(snapshot), startedAt);
+        });
+    }
+
+    private CompletableFuture<Fetched> reload(EmployeeSnapshot current) {
+        String instance = current.changeInstance();
+        if (!properties.isDeltaSync() || instance == null || current.changeSequence() < 0) {
+            return load(current);
+        }
+        long startedAt = System.nanoTime();
+        return timed("delta", startedAt, employeeClient.fetchChanges(instance, current.changeSequence()))
+                .thenCompose(changes -> {
+                    if (changes.isEmpty()) {
+                        log.info("Employee change feed cannot cover the gap; reloading the roster");
+                        return load(current);
+                    }
+                    EmployeeSnapshot updated = current.withChanges(changes.get());
+                    log.debug(
+                            "Applied {} employee changes up to {}",
+                            changes.get().getChanges().size(),
+                            updated.changeSequence());
+                    return CompletableFuture.completedFuture(new Fetched(loaded(updated), startedAt));
+                });
+    }
+
+    /*
+     * Replays the writes made since the load started, which the data server may not have had yet.
+     * Older ones are dropped: the roster loaded already has them. A snapshot reused on 304, or
+     * brought up to date from the feed, may hold some of the replayed writes; replaying them is
+     * harmless. Called with recentPatches locked.
+     */
+    private EmployeeSnapshot patched(EmployeeSnapshot snapshot, long startedAt) {
+        recentPatches.removeIf(patch -> patch.appliedAt() - startedAt < 0);
+        EmployeeSnapshot patched = snapshot;
+        for (Patch patch : recentPatches) {
+            patched = patch.change().apply(patched);
+        }
+        return patched;
+    }
+
+    private <T> CompletableFuture<T> timed(String sync, long startedAt, CompletableFuture<T> fetch) {
+        return fetch.whenComplete((result, ex) -> Timer.builder("employees.roster.load")
+                .description("Time to bring the roster up to date with the data server")
+                .tag("sync", sync)
+                .tag("outcome", ex == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+    }
+
+    private boolean isCaching() {
+        return properties.getProvider() == EmployeeCacheProperties.Provider.CAFFEINE;
+    }
+
+    private record Patch(long appliedAt, UnaryOperator<EmployeeSnapshot> change) {}
+
+    /** A roster as the data server had it some time after {@code startedAt}, before replaying writes. */
+    private record Fetched(EmployeeSnapshot snapshot, long startedAt) {}
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+final class Futures {
+
+    private Futures() {}
+
+    /** Waits for the future, rethrowing the original exception rather than a CompletionException. */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * {@code source.thenApply(fn)}, which also cancels {@code source} when it is cancelled. Only for
+     * a source the caller does not share, such as a copy handed out by a single flight.
+     */
+    static <T, R> CompletableFuture<R> thenApplyCancelling(CompletableFuture<T> source, Function<T, R> fn) {
+        CompletableFuture<R> applied = source.thenApply(fn);
+        applied.whenComplete((value, ex) -> {
+            if (applied.isCancelled()) {
+                source.cancel(false);
+            }
+        });
+        return applied;
+    }
+
+    /** The exception a stage failed with, without the CompletionException wrapping it. */
+    static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
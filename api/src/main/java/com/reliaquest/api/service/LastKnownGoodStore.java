@@ -0,0 +1,131 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * The last roster loaded from the data server, kept apart from the cache so it outlives expiry and
+ * failed loads. Reads fall back to it when the roster cannot be loaded or the circuit breaker is
+ * open, for as long as it is no older than {@code employees.cache.max-stale}.
+ *
+ * <p>With {@code spill-file} set, the roster is also written to disk in the data server's
+ * {@code {"data":[...]}} shape, at most once per {@code spill-delay}, and read back on startup;
+ * the file's modification time is when the roster was loaded.
+ */
+@Slf4j
+@Component
+public class LastKnownGoodStore {
+
+    private final EmployeeCacheProperties properties;
+    private final ObjectMapper objectMapper;
+    private final EmployeeRosterReader rosterReader;
+    private final ScheduledExecutorService spiller;
+    private final AtomicBoolean spillScheduled = new AtomicBoolean();
+    private volatile LastKnownGood current;
+
+    public LastKnownGoodStore(EmployeeCacheProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.rosterReader = new EmployeeRosterReader(objectMapper);
+        this.spiller = spillFile() == null
+                ? null
+                : Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "employee-spill");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public record LastKnownGood(EmployeeSnapshot snapshot, Instant asOf) {}
+
+    @PostConstruct
+    public void restore() {
+        Path file = spillFile();
+        if (file == null || !Files.isReadable(file)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            Instant asOf = Files.getLastModifiedTime(file).toInstant();
+            EmployeeSnapshot snapshot = rosterReader.read(in);
+            if (current == null) {
+                current = new LastKnownGood(snapshot, asOf);
+                log.info("Restored {} employees as of {} from {}", snapshot.size(), asOf, file);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable employee spill file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (spiller != null) {
+            spiller.shutdownNow();
+        }
+    }
+
+    /** Records a roster just loaded from the data server. */
+    public void save(EmployeeSnapshot snapshot) {
+        current = new LastKnownGood(snapshot, Instant.now());
+        if (spiller != null && spillScheduled.compareAndSet(false, true)) {
+            spiller.schedule(this::spill, properties.getSpillDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** The last roster loaded, unless it is older than {@code max-stale}. */
+    public Optional<LastKnownGood> get() {
+        LastKnownGood lastKnownGood = current;
+        Duration maxStale = properties.getMaxStale();
+        if (lastKnownGood == null
+                || maxStale == null
+                || maxStale.isZero()
+                || maxStale.isNegative()
+                || lastKnownGood.asOf().plus(maxStale).isBefore(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(lastKnownGood);
+    }
+
+    private void spill() {
+        spillScheduled.set(false);
+        LastKnownGood lastKnownGood = current;
+        Path file = spillFile();
+        // written next to the target and moved into place, so a crash never leaves half a roster
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            objectMapper.writeValue(
+                    temp.toFile(), Map.of("data", new ArrayList<>(lastKnownGood.snapshot().employees())));
+            Files.setLastModifiedTime(temp, FileTime.from(lastKnownGood.asOf()));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} employees to {}", lastKnownGood.snapshot().size(), file);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Failed to write employee spill file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    private Path spillFile() {
+        String spillFile = properties.getSpillFile();
+        return spillFile == null || spillFile.isBlank() ? null : Path.of(spillFile);
+    }
+}
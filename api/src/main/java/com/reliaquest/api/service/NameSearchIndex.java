@@ -0,0 +1,111 @@
+package com.reliaquest.api.service;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Trigram inverted index over normalized employee names, used by {@link EmployeeSnapshot} for
+ * substring search.
+ *
+ * <p>Each trigram maps to a posting: the slots whose names contain it, as a {@link SlotList} in
+ * roster order. A query walks the rarest trigram of the needle and leaves verification to the
+ * caller. Postings live in a {@link ShardedMap}, so an edit copies only the postings of the
+ * trigrams it touches, and of those only the chunks that change.
+ *
+ * <p>Immutable; changes go through an {@link Editor}.
+ */
+final class NameSearchIndex {
+
+    static final int GRAM = 3;
+
+    static final NameSearchIndex EMPTY = new NameSearchIndex(ShardedMap.empty());
+
+    private final ShardedMap<Long, SlotList> postings;
+
+    private NameSearchIndex(ShardedMap<Long, SlotList> postings) {
+        this.postings = postings;
+    }
+
+    static String normalize(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Slots whose names may contain {@code needle}, in roster order. {@code null} when the needle
+     * is shorter than a trigram and cannot be narrowed down.
+     */
+    SlotList candidates(String needle) {
+        if (needle.length() < GRAM) {
+            return null;
+        }
+        SlotList rarest = null;
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            SlotList posting = postings.get(key(needle, i));
+            if (posting == null) {
+                return SlotList.EMPTY;
+            }
+            if (rarest == null || posting.size() < rarest.size()) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    Editor edit() {
+        return new Editor(this);
+    }
+
+    private static LongStream trigrams(String name) {
+        if (name == null || name.length() < GRAM) {
+            return LongStream.empty();
+        }
+        return LongStream.rangeClosed(0, name.length() - GRAM)
+                .map(i -> key(name, (int) i))
+                .distinct();
+    }
+
+    private static long key(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    /** Changes to an index, published by {@link #build()}. Not thread-safe. */
+    static final class Editor {
+
+        private final ShardedMap.Editor<Long, SlotList> postings;
+        private final Map<Long, SlotList.Editor> touched = new HashMap<>();
+
+        private Editor(NameSearchIndex base) {
+            this.postings = base.postings.edit();
+        }
+
+        /** Adds {@code slot}, whose sequence number must be above every one in the index. */
+        void add(EmployeeSnapshot.Slot slot) {
+            trigrams(slot.searchName()).forEach(gram -> posting(gram).append(slot));
+        }
+
+        void remove(EmployeeSnapshot.Slot slot) {
+            trigrams(slot.searchName()).forEach(gram -> posting(gram).remove(slot.seq()));
+        }
+
+        NameSearchIndex build() {
+            touched.forEach((gram, posting) -> {
+                if (posting.size() == 0) {
+                    postings.remove(gram);
+                } else {
+                    postings.put(gram, posting.build());
+                }
+            });
+            touched.clear();
+            return new NameSearchIndex(postings.build());
+        }
+
+        private SlotList.Editor posting(long gram) {
+            return touched.computeIfAbsent(gram, key -> {
+                SlotList posting = postings.get(key);
+                return (posting == null ? SlotList.EMPTY : posting).edit();
+            });
+        }
+    }
+}
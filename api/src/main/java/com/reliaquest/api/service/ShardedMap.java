@@ -0,0 +1,144 @@
+package com.reliaquest.api.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable hash map split into shards, behind the id index of {@link EmployeeSnapshot} and the
+ * postings of its {@link NameSearchIndex}.
+ *
+ * <p>An {@link Editor} copies only the shards it touches, each at most once, plus the shard table;
+ * the rest are shared with the map it started from. The number of shards follows the square root
+ * of the size, so both copies stay near O(sqrt n); the map is only re-sharded, in O(n), when its
+ * size has changed about fourfold since the last time.
+ */
+final class ShardedMap<K, V> {
+
+    private static final ShardedMap<?, ?> EMPTY = new ShardedMap<>(shards(1), 0);
+
+    private final Map<K, V>[] shards;
+    private final int size;
+
+    private ShardedMap(Map<K, V>[] shards, int size) {
+        this.shards = shards;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> ShardedMap<K, V> empty() {
+        return (ShardedMap<K, V>) EMPTY;
+    }
+
+    V get(Object key) {
+        return shards[shardOf(key, shards.length)].get(key);
+    }
+
+    boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Editor<K, V> edit() {
+        return new Editor<>(this);
+    }
+
+    /*
+     * Shards take the high bits of a multiplicative hash, so the keys of one shard still spread
+     * over the buckets of its HashMap, which uses the low bits.
+     */
+    private static int shardOf(Object key, int shards) {
+        if (shards == 1) {
+            return 0;
+        }
+        return (key.hashCode() * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(shards));
+    }
+
+    private static int shardCount(int size) {
+        int root = (int) Math.sqrt(size);
+        return root <= 1 ? 1 : Integer.highestOneBit(root);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V>[] shards(int count) {
+        Map<K, V>[] shards = new Map[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = Map.of();
+        }
+        return shards;
+    }
+
+    /**
+     * Changes to a map, published by {@link #build()}. Values must not be {@code null}. Not
+     * thread-safe; the map it started from never changes.
+     */
+    static final class Editor<K, V> {
+
+        private Map<K, V>[] shards;
+        private boolean[] owned;
+        private int size;
+
+        private Editor(ShardedMap<K, V> base) {
+            reset(base);
+        }
+
+        V get(Object key) {
+            return shards[shardOf(key, shards.length)].get(key);
+        }
+
+        V put(K key, V value) {
+            V previous = own(shardOf(key, shards.length)).put(key, value);
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        }
+
+        V remove(Object key) {
+            int shard = shardOf(key, shards.length);
+            if (!shards[shard].containsKey(key)) {
+                return null;
+            }
+            size--;
+            return own(shard).remove(key);
+        }
+
+        ShardedMap<K, V> build() {
+            int count = shardCount(size);
+            ShardedMap<K, V> built = count > shards.length * 2 || count < shards.length / 2
+                    ? resharded(count)
+                    : new ShardedMap<>(shards, size);
+            // further edits start from what was built and copy again, so it stays unchanged
+            reset(built);
+            return built;
+        }
+
+        private ShardedMap<K, V> resharded(int count) {
+            Map<K, V>[] resharded = shards(count);
+            int capacity = (int) (size / count / 0.75f) + 1;
+            for (int i = 0; i < count; i++) {
+                resharded[i] = new HashMap<>(capacity);
+            }
+            for (Map<K, V> shard : shards) {
+                shard.forEach((key, value) -> resharded[shardOf(key, count)].put(key, value));
+            }
+            return new ShardedMap<>(resharded, size);
+        }
+
+        private void reset(ShardedMap<K, V> base) {
+            shards = base.shards.clone();
+            owned = new boolean[shards.length];
+            size = base.size;
+        }
+
+        private Map<K, V> own(int shard) {
+            if (!owned[shard]) {
+                shards[shard] = new HashMap<>(shards[shard]);
+                owned[shard] = true;
+            }
+            return shards[shard];
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.models.Employee;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Immutable list of {@link EmployeeSnapshot.Slot}s in ascending sequence order: the roster of an
+ * {@link EmployeeSnapshot}, and each posting of its {@link NameSearchIndex}.
+ *
+ * <p>Slots are kept in chunks of at most {@value #CHUNK}. An {@link Editor} copies only the chunks
+ * it touches, each at most once, plus the chunk directory; the rest are shared with the list it
+ * started from. Positional access is a binary search over the directory, iteration walks the
+ * chunks in order.
+ */
+final class SlotList implements Iterable<EmployeeSnapshot.Slot> {
+
+    static final int CHUNK = 256;
+
+    static final SlotList EMPTY = new SlotList(new EmployeeSnapshot.Slot[0][], new int[0]);
+
+    /** Never empty, so every chunk has a first sequence number. */
+    private final EmployeeSnapshot.Slot[][] chunks;
+
+    /** {@code ends[i]} is the number of slots in chunks {@code 0..i}. */
+    private final int[] ends;
+
+    private SlotList(EmployeeSnapshot.Slot[][] chunks, int[] ends) {
+        this.chunks = chunks;
+        this.ends = ends;
+    }
+
+    int size() {
+        return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    EmployeeSnapshot.Slot get(int index) {
+        Objects.checkIndex(index, size());
+        int low = 0;
+        int high = ends.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] > index) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return chunks[low][low == 0 ? index : index - ends[low - 1]];
+    }
+
+    @Override
+    public Iterator<EmployeeSnapshot.Slot> iterator() {
+        return new Iterator<>() {
+            private int chunk;
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return chunk < chunks.length;
+            }
+
+            @Override
+            public EmployeeSnapshot.Slot next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                EmployeeSnapshot.Slot slot = chunks[chunk][next++];
+                if (next == chunks[chunk].length) {
+                    chunk++;
+                    next = 0;
+                }
+                return slot;
+            }
+        };
+    }
+
+    /** Read-only view of the employees in the slots, in order. */
+    List<Employee> employees() {
+        return new AbstractList<>() {
+            @Override
+            public Employee get(int index) {
+                return SlotList.this.get(index).employee();
+            }
+
+            @Override
+            public int size() {
+                return SlotList.this.size();
+            }
+
+            @Override
+            public Iterator<Employee> iterator() {
+                Iterator<EmployeeSnapshot.Slot> slots = SlotList.this.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return slots.hasNext();
+                    }
+
+                    @Override
+                    public Employee next() {
+                        return slots.next().employee();
+                    }
+                };
+            }
+        };
+    }
+
+    Editor edit() {
+        return new Editor(this);
+    }
+
+    /**
+     * Changes to a list, published by {@link #build()}. Not thread-safe; the list it started from
+     * never changes.
+     */
+    static final class Editor {
+
+        private final List<EmployeeSnapshot.Slot[]> shared = new ArrayList<>();
+        /** Copy of chunk {@code i} once an edit touched it, {@code null} until then. */
+        private final List<List<EmployeeSnapshot.Slot>> owned = new ArrayList<>();
+        /**
+         * Lowest sequence number chunk {@code i} may hold. Removals never move it, so slots can be
+         * found even in a chunk an edit has emptied.
+         */
+        private long[] floors = new long[4];
+
+        private int size;
+
+        private Editor(SlotList base) {
+            reset(base);
+        }
+
+        int size() {
+            return size;
+        }
+
+        /** Appends {@code slot}, whose sequence number must be above every one in the list. */
+        void append(EmployeeSnapshot.Slot slot) {
+            int last = shared.size() - 1;
+            if (last < 0 || chunkSize(last) >= CHUNK) {
+                List<EmployeeSnapshot.Slot> chunk = new ArrayList<>();
+                chunk.add(slot);
+                if (shared.size() == floors.length) {
+                    floors = Arrays.copyOf(floors, floors.length * 2);
+                }
+                floors[shared.size()] = slot.seq();
+                shared.add(null);
+                owned.add(chunk);
+            } else {
+                own(last).add(slot);
+            }
+            size++;
+        }
+
+        /** Removes the slot with sequence number {@code seq}; false if there is none. */
+        boolean remove(long seq) {
+            int chunk = chunkFor(seq);
+            if (chunk < 0) {
+                return false;
+            }
+            int at = indexOf(chunk, seq);
+            if (at < 0) {
+                return false;
+            }
+            own(chunk).remove(at);
+            size--;
+            return true;
+        }
+
+        /**
+         * The list as edited so far. A chunk an edit shrank is merged into the one before it when
+         * both fit in one chunk, so deletes do not leave the list fragmented.
+         */
+        SlotList build() {
+            List<EmployeeSnapshot.Slot[]> chunks = new ArrayList<>(shared.size());
+            for (int i = 0; i < shared.size(); i++) {
+                List<EmployeeSnapshot.Slot> copy = owned.get(i);
+                EmployeeSnapshot.Slot[] chunk =
+                        copy == null ? shared.get(i) : copy.toArray(EmployeeSnapshot.Slot[]::new);
+                if (chunk.length == 0) {
+                    continue;
+                }
+                int previous = chunks.size() - 1;
+                if (copy != null && previous >= 0 && chunks.get(previous).length + chunk.length <= CHUNK) {
+                    EmployeeSnapshot.Slot[] merged =
+                            Arrays.copyOf(chunks.get(previous), chunks.get(previous).length + chunk.length);
+                    System.arraycopy(chunk, 0, merged, chunks.get(previous).length, chunk.length);
+                    chunks.set(previous, merged);
+                } else {
+                    chunks.add(chunk);
+                }
+            }
+            SlotList built = chunks.isEmpty() ? EMPTY : of(chunks);
+            // further edits start from what was built and copy again, so it stays unchanged
+            reset(built);
+            return built;
+        }
+
+        private void reset(SlotList base) {
+            shared.clear();
+            owned.clear();
+            if (floors.length < base.chunks.length) {
+                floors = new long[base.chunks.length];
+            }
+            for (int i = 0; i < base.chunks.length; i++) {
+                shared.add(base.chunks[i]);
+                owned.add(null);
+                floors[i] = base.chunks[i][0].seq();
+            }
+            size = base.size();
+        }
+
+        private int chunkSize(int chunk) {
+            List<EmployeeSnapshot.Slot> copy = owned.get(chunk);
+            return copy == null ? shared.get(chunk).length : copy.size();
+        }
+
+        /** Last chunk whose floor is at most {@code seq}, or -1. */
+        private int chunkFor(long seq) {
+            int low = 0;
+            int high = shared.size() - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (floors[mid] <= seq) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        private int indexOf(int chunk, long seq) {
+            List<EmployeeSnapshot.Slot> slots =
+                    owned.get(chunk) != null ? owned.get(chunk) : Arrays.asList(shared.get(chunk));
+            int low = 0;
+            int high = slots.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long found = slots.get(mid).seq();
+                if (found < seq) {
+                    low = mid + 1;
+                } else if (found > seq) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private List<EmployeeSnapshot.Slot> own(int chunk) {
+            List<EmployeeSnapshot.Slot> copy = owned.get(chunk);
+            if (copy == null) {
+                copy = new ArrayList<>(Arrays.asList(shared.get(chunk)));
+                owned.set(chunk, copy);
+            }
+            return copy;
+        }
+
+        private static SlotList of(List<EmployeeSnapshot.Slot[]> chunks) {
+            int[] ends = new int[chunks.size()];
+            int size = 0;
+            for (int i = 0; i < ends.length; i++) {
+                size += chunks.get(i).length;
+                ends[i] = size;
+            }
+            return new SlotList(chunks.toArray(EmployeeSnapshot.Slot[][]::new), ends);
+        }
+    }
+}
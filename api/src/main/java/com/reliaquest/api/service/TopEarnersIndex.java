@@ -0,0 +1,135 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.models.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Top-earner index of an {@link EmployeeSnapshot}.
+ *
+ * <p>Employees are ordered by salary, highest first and unknown salaries last; ties go by name,
+ * then by arrival, so equal salaries always come back in the same order. Only the best {@code k}
+ * are kept, names included, selected in one O(n log k) pass over the roster with a bounded heap,
+ * so the top-{@code k} query is answered from a ready list. Deeper queries select from the roster
+ * the same way, in O(n log limit).
+ *
+ * <p>Immutable; changes go through an {@link Editor}. An added employee costs O(k). Removing one
+ * of the best {@code k} leaves a gap only the roster can fill, so the index is then selected from
+ * the roster again, once per edit.
+ */
+final class TopEarnersIndex {
+
+    static final Comparator<EmployeeSnapshot.Slot> ORDER = Comparator.comparing(
+                    (EmployeeSnapshot.Slot slot) -> slot.employee().getSalary(),
+                    Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(slot -> slot.employee().getName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(EmployeeSnapshot.Slot::seq);
+
+    private final int k;
+    private final List<EmployeeSnapshot.Slot> slots;
+    private final List<Employee> employees;
+    private final List<String> names;
+
+    private TopEarnersIndex(int k, List<EmployeeSnapshot.Slot> slots) {
+        this.k = k;
+        this.slots = List.copyOf(slots);
+        this.employees = this.slots.stream().map(EmployeeSnapshot.Slot::employee).toList();
+        this.names = employees.stream().map(Employee::getName).toList();
+    }
+
+    /** Keeps the {@code k} best of {@code roster}. */
+    static TopEarnersIndex of(Iterable<EmployeeSnapshot.Slot> roster, int k) {
+        int bound = Math.max(k, 1);
+        return new TopEarnersIndex(bound, best(roster, bound));
+    }
+
+    Integer highestSalary() {
+        return slots.isEmpty() ? null : slots.get(0).employee().getSalary();
+    }
+
+    /** The {@code limit} best paid employees of {@code roster}, the roster this index was built from. */
+    List<Employee> top(int limit, Iterable<EmployeeSnapshot.Slot> roster) {
+        if (limit <= employees.size() || slots.size() < k) {
+            return employees.subList(0, Math.max(Math.min(limit, employees.size()), 0));
+        }
+        return best(roster, limit).stream().map(EmployeeSnapshot.Slot::employee).toList();
+    }
+
+    /** Names of the {@code k} best paid employees, in index order. */
+    List<String> topNames() {
+        return names;
+    }
+
+    Editor edit() {
+        return new Editor(this);
+    }
+
+    private static List<EmployeeSnapshot.Slot> best(Iterable<EmployeeSnapshot.Slot> roster, int limit) {
+        // worst of the best so far on top, so each slot costs one comparison unless it gets in
+        PriorityQueue<EmployeeSnapshot.Slot> best = new PriorityQueue<>(Math.min(limit, 1024) + 1, ORDER.reversed());
+        for (EmployeeSnapshot.Slot slot : roster) {
+            if (best.size() < limit) {
+                best.add(slot);
+            } else if (ORDER.compare(slot, best.peek()) < 0) {
+                best.poll();
+                best.add(slot);
+            }
+        }
+        List<EmployeeSnapshot.Slot> ordered = new ArrayList<>(best);
+        ordered.sort(ORDER);
+        return ordered;
+    }
+
+    /** Changes to an index, published by {@link #build(Iterable)}. Not thread-safe. */
+    static final class Editor {
+
+        private final int k;
+        private final List<EmployeeSnapshot.Slot> slots;
+        private boolean reselect;
+
+        private Editor(TopEarnersIndex base) {
+            this.k = base.k;
+            this.slots = new ArrayList<>(base.slots);
+        }
+
+        void add(EmployeeSnapshot.Slot slot) {
+            if (reselect) {
+                return;
+            }
+            int at = Collections.binarySearch(slots, slot, ORDER);
+            int insertion = at < 0 ? -at - 1 : at;
+            if (insertion < k) {
+                slots.add(insertion, slot);
+                if (slots.size() > k) {
+                    slots.remove(k);
+                }
+            }
+        }
+
+        void remove(EmployeeSnapshot.Slot slot) {
+            if (reselect) {
+                return;
+            }
+            // with fewer than k slots the whole roster is in the index, so nothing can fill the gap
+            boolean full = slots.size() >= k;
+            if (slots.removeIf(top -> top.seq() == slot.seq()) && full) {
+                reselect = true;
+            }
+        }
+
+        /** The index over {@code roster}, the roster with the same changes applied. */
+        TopEarnersIndex build(Iterable<EmployeeSnapshot.Slot> roster) {
+            if (!reselect) {
+                return new TopEarnersIndex(k, slots);
+            }
+            TopEarnersIndex built = of(roster, k);
+            slots.clear();
+            slots.addAll(built.slots);
+            reselect = false;
+            return built;
+        }
+    }
+}
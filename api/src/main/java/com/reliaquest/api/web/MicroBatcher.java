@@ -0,0 +1,159 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.NonNull;
+
+/**
+ * Collects items submitted within {@code window} of the first one, up to {@code maxSize}, and
+ * sends them in one call. The call must answer one output per input, in input order; each
+ * submitter gets its own output, or the failure of the whole batch.
+ *
+ * <p>When the whole batch is refused for a reason that may lie with one of its items, as
+ * {@code split} decides, the items are sent again one by one, so each submitter gets the answer
+ * to its own item instead.
+ */
+public class MicroBatcher<I, O> implements AutoCloseable {
+
+    private final Duration window;
+    private final int maxSize;
+    private final Function<List<I>, CompletableFuture<List<O>>> call;
+    private final Function<I, CompletableFuture<O>> single;
+    private final Predicate<Throwable> split;
+    private final ScheduledExecutorService scheduler;
+    private List<Pending<I, O>> batch = new ArrayList<>();
+
+    public MicroBatcher(
+            @NonNull String name,
+            @NonNull Duration window,
+            int maxSize,
+            @NonNull Function<List<I>, CompletableFuture<List<O>>> call) {
+        this(name, window, maxSize, call, null, failure -> false);
+    }
+
+    /**
+     * @param single sends one item on its own
+     * @param split whether a batch that failed with this exception is sent again item by item
+     */
+    public MicroBatcher(
+            @NonNull String name,
+            @NonNull Duration window,
+            int maxSize,
+            @NonNull Function<List<I>, CompletableFuture<List<O>>> call,
+            Function<I, CompletableFuture<O>> single,
+            @NonNull Predicate<Throwable> split) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.window = window;
+        this.maxSize = maxSize;
+        this.call = call;
+        this.single = single;
+        this.split = split;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<O> submit(I item) {
+        Pending<I, O> pending = new Pending<>(item, new CompletableFuture<>());
+        List<Pending<I, O>> full = null;
+        synchronized (this) {
+            batch.add(pending);
+            if (batch.size() >= maxSize) {
+                full = batch;
+                batch = new ArrayList<>();
+            } else if (batch.size() == 1) {
+                List<Pending<I, O>> opened = batch;
+                try {
+                    scheduler.schedule(() -> flush(opened), window.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException ex) {
+                    full = batch;
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return pending.result();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void flush(List<Pending<I, O>> opened) {
+        synchronized (this) {
+            // already sent when it filled up
+            if (batch != opened) {
+                return;
+            }
+            batch = new ArrayList<>();
+        }
+        send(opened);
+    }
+
+    private void send(List<Pending<I, O>> batch) {
+        // submitters that gave up, e.g. on a timeout, while the window was open are left out
+        List<Pending<I, O>> items = batch.stream()
+                .filter(pending -> !pending.result().isDone())
+                .toList();
+        if (items.isEmpty()) {
+            return;
+        }
+        CompletableFuture<List<O>> outputs;
+        try {
+            outputs = call.apply(items.stream().map(Pending::item).toList());
+        } catch (Throwable ex) {
+            items.forEach(item -> item.result().completeExceptionally(ex));
+            return;
+        }
+        outputs.whenComplete((results, ex) -> {
+            Throwable failure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (failure != null && single != null && items.size() > 1 && split.test(failure)) {
+                items.forEach(this::sendAlone);
+                return;
+            }
+            if (failure == null && (results == null || results.size() != items.size())) {
+                failure = new IllegalStateException("Batch of %d answered with %d results"
+                        .formatted(items.size(), results == null ? 0 : results.size()));
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (failure != null) {
+                    items.get(i).result().completeExceptionally(failure);
+                } else {
+                    items.get(i).result().complete(results.get(i));
+                }
+            }
+        });
+    }
+
+    private void sendAlone(Pending<I, O> pending) {
+        try {
+            single.apply(pending.item()).whenComplete((output, ex) -> {
+                if (ex != null) {
+                    pending.result().completeExceptionally(ex);
+                } else {
+                    pending.result().complete(output);
+                }
+            });
+        } catch (Throwable ex) {
+            pending.result().completeExceptionally(ex);
+        }
+    }
+
+    private record Pending<I, O>(I item, CompletableFuture<O> result) {}
+}
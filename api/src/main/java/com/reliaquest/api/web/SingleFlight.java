@@ -0,0 +1,92 @@
+package com.reliaquest.api.web;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Coalesces concurrent calls for the same key: while one is in flight, every further caller for
+ * that key gets a copy of the same future and therefore the same result or failure. The key is
+ * released as soon as the call completes, so nothing is cached beyond the lifetime of the exchange.
+ *
+ * <p>Cancelling a copy, as a time limiter does, only gives up that caller's wait. Once every
+ * caller has given up, the call itself is cancelled and the key released, so a call nobody waits
+ * for is not retried; the next caller starts a fresh one.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Call<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> execute(@NonNull K key, @NonNull Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            Call<V> mine = new Call<>();
+            Call<V> existing = inFlight.putIfAbsent(key, mine);
+            if (existing == null) {
+                start(key, mine, call);
+                return waiter(key, mine);
+            }
+            if (existing.join()) {
+                return waiter(key, existing);
+            }
+            // everyone gave up on it while we looked; it is being cancelled
+            inFlight.remove(key, existing);
+        }
+    }
+
+    /** Number of distinct keys with a call in flight. */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private void start(K key, Call<V> mine, Supplier<CompletableFuture<V>> call) {
+        try {
+            mine.upstream = call.get();
+            mine.upstream.whenComplete((value, ex) -> {
+                inFlight.remove(key, mine);
+                if (ex != null) {
+                    mine.result.completeExceptionally(ex);
+                } else {
+                    mine.result.complete(value);
+                }
+            });
+        } catch (Throwable ex) {
+            inFlight.remove(key, mine);
+            mine.result.completeExceptionally(ex);
+        }
+    }
+
+    private CompletableFuture<V> waiter(K key, Call<V> call) {
+        CompletableFuture<V> copy = call.result.copy();
+        copy.whenComplete((value, ex) -> {
+            if (copy.isCancelled() && call.waiters.decrementAndGet() == 0) {
+                inFlight.remove(key, call);
+                call.upstream.cancel(false);
+            }
+        });
+        return copy;
+    }
+
+    private static final class Call<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        /** Callers still waiting; the one who starts the call counts from the beginning. */
+        private final AtomicInteger waiters = new AtomicInteger(1);
+
+        private volatile CompletableFuture<V> upstream;
+
+        /** Adds a waiter, unless every earlier one has already given up. */
+        private boolean join() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.web;
+
+import java.time.Instant;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks responses built from a roster that could not be brought up to date with
+ * {@code X-Data-Stale: true} and the time it was loaded as {@code X-Data-As-Of}.
+ *
+ * <p>The service calls {@link #mark} with the request it captured on the calling thread, since an
+ * asynchronous handler's result may be produced on another one.
+ */
+@ControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Data-Stale";
+    public static final String AS_OF_HEADER = "X-Data-As-Of";
+
+    private static final String AS_OF_ATTRIBUTE = StaleResponseAdvice.class.getName() + ".asOf";
+
+    /** Records that the response to {@code request} is served from a roster loaded at {@code asOf}. */
+    public static void mark(RequestAttributes request, Instant asOf) {
+        // the attributes of an async request are inactive once the handler returns; the request is not
+        if (request instanceof ServletRequestAttributes servlet) {
+            servlet.getRequest().setAttribute(AS_OF_ATTRIBUTE, asOf);
+        }
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servlet
+                && servlet.getServletRequest().getAttribute(AS_OF_ATTRIBUTE) instanceof Instant asOf) {
+            response.getHeaders().set(STALE_HEADER, "true");
+            response.getHeaders().set(AS_OF_HEADER, asOf.toString());
+        }
+        return body;
+    }
+}
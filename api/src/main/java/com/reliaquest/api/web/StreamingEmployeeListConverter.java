@@ -0,0 +1,115 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.models.Employee;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Reads and writes {@code List<Employee>} bodies. Response bodies are written as a JSON array,
+ * one employee at a time, straight to the servlet output stream.
+ *
+ * <p>The roster list handed out by the employee service is a view over the cached snapshot, so
+ * nothing is copied on the way out. The generator's buffers come from Jackson's buffer recycler,
+ * and the stream is flushed every {@code flushEvery} employees: the response goes out chunked, the
+ * first bytes leave after the first batch, and the buffered part of the body stays bounded
+ * however large the roster is. The JSON is identical to what the Jackson converter produces.
+ *
+ * <p>Request bodies are read with the same {@link ObjectMapper}, exactly as the Jackson converter
+ * would read them. Matched only by the declared body type, so it never claims other lists.
+ */
+public class StreamingEmployeeListConverter extends AbstractGenericHttpMessageConverter<List<Employee>> {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter employeeWriter;
+    private final ObjectReader employeeListReader;
+    private final int flushEvery;
+
+    public StreamingEmployeeListConverter(ObjectMapper objectMapper, int flushEvery) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.objectMapper = objectMapper;
+        // the default would flush after every employee
+        this.employeeWriter =
+                objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.employeeListReader = objectMapper.readerFor(new TypeReference<List<Employee>>() {});
+        this.flushEvery = Math.max(flushEvery, 1);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isEmployeeList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isEmployeeList(type) && canRead(mediaType);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // only matched through the generic type, see canRead and canWrite(Type, Class, MediaType)
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(List<Employee> employees, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper
+                .getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            int written = 0;
+            for (Employee employee : employees) {
+                employeeWriter.writeValue(generator, employee);
+                if (++written % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    public List<Employee> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        return readEmployees(inputMessage);
+    }
+
+    @Override
+    protected List<Employee> readInternal(Class<? extends List<Employee>> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        return readEmployees(inputMessage);
+    }
+
+    private List<Employee> readEmployees(HttpInputMessage inputMessage) throws IOException {
+        try {
+            return employeeListReader.readValue(inputMessage.getBody());
+        } catch (JsonProcessingException ex) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + ex.getOriginalMessage(), ex, inputMessage);
+        }
+    }
+
+    private static boolean isEmployeeList(Type type) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        return List.class.isAssignableFrom(resolved.toClass())
+                && Employee.class.equals(resolved.getGeneric(0).resolve());
+    }
+}
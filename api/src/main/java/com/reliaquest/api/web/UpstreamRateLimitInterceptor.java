@@ -0,0 +1,62 @@
+package com.reliaquest.api.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds every response from the data server back to {@link UpstreamRateLimiter}, so it learns the
+ * budget and cooldown. Permits are taken by {@link UpstreamRetryExecutor} before a call is handed
+ * to an io thread, so no thread waits here for one.
+ */
+@Slf4j
+@Component
+public class UpstreamRateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final UpstreamRateLimiter rateLimiter;
+
+    public UpstreamRateLimitInterceptor(UpstreamRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            rateLimiter.onThrottled(retryAfter(response.getHeaders()));
+        } else {
+            rateLimiter.onAccepted();
+        }
+        return response;
+    }
+
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (DateTimeParseException notDate) {
+                log.debug("Ignoring unparseable Retry-After header: {}", value);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.configs.UpstreamRateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Client-side admission control for calls to the data server.
+ *
+ * <p>The data server lets a fixed number of requests through and then answers 429 for a while.
+ * This limiter learns that budget from the requests accepted before the first 429 of a window
+ * and stops sending once it is spent, pausing for the learned cooldown instead of burning
+ * requests that are bound to be rejected. The cooldown comes from {@code Retry-After} when present, and
+ * grows when the first request after a pause is still throttled.
+ */
+@Slf4j
+@Component
+public class UpstreamRateLimiter {
+
+    private final UpstreamRateLimitProperties properties;
+    private final Counter admitted;
+    private final Counter rejected;
+    private final Counter throttled;
+    private final Timer queued;
+
+    private int budget;
+    private int available;
+    private int acceptedInWindow;
+    private boolean throttledInWindow;
+    private boolean resumed;
+    private long lastAdmittedAt;
+    private long pausedUntil;
+    private boolean paused;
+    private long cooldownNanos;
+
+    public UpstreamRateLimiter(UpstreamRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.budget = Math.max(properties.getInitialBudget(), 0);
+        this.available = budget;
+        this.cooldownNanos = properties.getCooldown().toNanos();
+
+        this.admitted = requests(meterRegistry, "admitted");
+        this.rejected = requests(meterRegistry, "rejected");
+        this.throttled = requests(meterRegistry, "throttled");
+        this.queued = Timer.builder("upstream.ratelimit.wait")
+                .description("Time calls waited for a permit before being sent to the data server")
+                .register(meterRegistry);
+        Gauge.builder("upstream.ratelimit.budget", this, UpstreamRateLimiter::budget)
+                .description("Learned number of requests the data server accepts per window, 0 if unknown")
+                .register(meterRegistry);
+        Gauge.builder("upstream.ratelimit.available", this, UpstreamRateLimiter::available)
+                .description("Permits left in the current window")
+                .register(meterRegistry);
+        Gauge.builder("upstream.ratelimit.cooldown", this, limiter -> limiter.cooldown().toMillis())
+                .description("Learned pause after the budget is spent")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /** Returned by {@link #admit} when a call would wait longer than {@code max-wait} and should not be sent. */
+    public static final long REJECTED = -1;
+
+    /**
+     * Takes a permit without blocking, for a call that has already waited {@code waitedNanos} for one.
+     * A caller that is not admitted reschedules itself rather than sleeping.
+     *
+     * @return 0 when a permit was taken, {@link #REJECTED} when the next permit is further away than
+     *     {@code dataserver.rate-limit.max-wait} allows, otherwise the nanoseconds until one may be available
+     */
+    public long admit(long waitedNanos) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long waitNanos = tryAcquire();
+        if (waitNanos == 0) {
+            queued.record(waitedNanos, TimeUnit.NANOSECONDS);
+            return 0;
+        }
+        if (waitedNanos + waitNanos > properties.getMaxWait().toNanos()) {
+            rejected.increment();
+            return REJECTED;
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Takes a permit if one is available right now.
+     *
+     * @return 0 when a permit was taken, otherwise the nanoseconds until one may be available
+     */
+    public synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        if (paused) {
+            if (now - pausedUntil < 0) {
+                return pausedUntil - now;
+            }
+            resume();
+        }
+        if (budget > 0 && available <= 0) {
+            // budget spent: pause instead of sending requests the data server would reject
+            pause(lastAdmittedAt + cooldownNanos);
+            log.debug("Upstream budget of {} spent; pausing for {}", budget, cooldown());
+            return Math.max(pausedUntil - now, 1);
+        }
+        available--;
+        lastAdmittedAt = now;
+        admitted.increment();
+        return 0;
+    }
+
+    /** Nanoseconds until {@link #tryAcquire()} may succeed, without taking a permit. */
+    public synchronized long nanosUntilPermit() {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        if (paused && now - pausedUntil < 0) {
+            return pausedUntil - now;
+        }
+        if (!paused && budget > 0 && available <= 0) {
+            return Math.max(lastAdmittedAt + cooldownNanos - now, 1);
+        }
+        return 0;
+    }
+
+    public synchronized void onAccepted() {
+        acceptedInWindow++;
+        resumed = false;
+        if (throttledInWindow) {
+            // counted upstream before the 429 that ended the window
+            budget++;
+        }
+    }
+
+    public synchronized void onThrottled(Duration retryAfter) {
+        throttled.increment();
+        if (!throttledInWindow) {
+            throttledInWindow = true;
+            if (acceptedInWindow > 0) {
+                if (budget != acceptedInWindow) {
+                    log.info("Learned upstream budget of {} requests per window", acceptedInWindow);
+                }
+                budget = acceptedInWindow;
+            } else if (resumed && retryAfter == null) {
+                cooldownNanos = Math.min(cooldownNanos + cooldownNanos / 2, properties.getMaxCooldown().toNanos());
+                log.info("Upstream still throttling after the pause; cooldown raised to {}", cooldown());
+            }
+        }
+        long waitNanos = retryAfter != null ? retryAfter.toNanos() : cooldownNanos;
+        pause(System.nanoTime() + waitNanos);
+    }
+
+    public synchronized int budget() {
+        return budget;
+    }
+
+    public synchronized int available() {
+        return paused ? 0 : Math.max(available, 0);
+    }
+
+    public synchronized Duration cooldown() {
+        return Duration.ofNanos(cooldownNanos);
+    }
+
+    private void pause(long until) {
+        if (!paused || until - pausedUntil > 0) {
+            pausedUntil = until;
+        }
+        paused = true;
+        available = 0;
+    }
+
+    private void resume() {
+        paused = false;
+        resumed = true;
+        available = budget;
+        acceptedInWindow = 0;
+        throttledInWindow = false;
+    }
+
+    /** The 429 a call fails with when it is not sent because of the upstream budget. */
+    static HttpClientErrorException tooManyRequests(String message) {
+        return HttpClientErrorException.create(
+                message,
+                HttpStatus.TOO_MANY_REQUESTS,
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                HttpHeaders.EMPTY,
+                null,
+                null);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("upstream.ratelimit.requests")
+                .description("Calls to the data server by admission outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,205 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.configs.UpstreamRetryProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Runs calls to the data server and retries them on 429 as {@link UpstreamRetryPolicy} allows:
+ * after the data server's {@code Retry-After} or learned reset time, else with jittered exponential
+ * backoff, and only while the shared retry budget lasts.
+ *
+ * <p>Unlike {@code @Retryable}, nothing sleeps between attempts: the next attempt is scheduled on
+ * a timer. Each attempt takes its permit from {@link UpstreamRateLimiter} before it is handed to an
+ * io thread, and is deferred the same way while none is available: through a learned pause for as
+ * long as the retry window allows, otherwise for up to {@code max-wait}. A call waiting out its
+ * backoff or a permit therefore holds no thread, so thousands of them cost no more than the
+ * {@code io-threads} actually talking to the data server.
+ *
+ * <p>Cancelling the returned future, as a time limiter does, stops the call: no further attempt
+ * is sent and no retry budget is spent on it, though an attempt already on the wire completes.
+ *
+ * <p>Records {@code upstream.retry.attempts} by operation and outcome, {@code upstream.retry.exhausted}
+ * by operation and reason ({@code attempts}, {@code window} or {@code budget}) when a call gives up,
+ * and the number of calls currently waiting as {@code upstream.retry.pending}.
+ */
+@Slf4j
+@Component
+public class UpstreamRetryExecutor {
+
+    private final UpstreamRetryProperties properties;
+    private final UpstreamRateLimiter rateLimiter;
+    private final UpstreamRetryPolicy retryPolicy;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService io;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public UpstreamRetryExecutor(
+            UpstreamRetryProperties properties,
+            UpstreamRateLimiter rateLimiter,
+            UpstreamRetryPolicy retryPolicy,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.retryPolicy = retryPolicy;
+        this.meterRegistry = meterRegistry;
+        this.io = Executors.newFixedThreadPool(properties.getIoThreads(), daemon("upstream-io-"));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("upstream-retry-"));
+        Gauge.builder("upstream.retry.pending", pending, AtomicInteger::get)
+                .description("Calls waiting for a retry backoff or an upstream permit")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        io.shutdownNow();
+    }
+
+    public <T> CompletableFuture<T> execute(String operation, Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + properties.getMaxElapsed().toNanos();
+        retryPolicy.onCall();
+        attempt(operation, call, 1, deadline, result, System.nanoTime());
+        return result;
+    }
+
+    /** @param dueAt when this attempt became ready to send, for how long it has waited for a permit */
+    private <T> void attempt(
+            String operation, Supplier<T> call, int attempt, long deadline, CompletableFuture<T> result, long dueAt) {
+        if (result.isDone()) {
+            log.debug("Not sending {}; it was cancelled", operation);
+            return;
+        }
+        long pausedFor = rateLimiter.nanosUntilPermit();
+        if (pausedFor > 0) {
+            // a known pause is waited out within the retry window; max-wait only bounds the wait after it
+            defer(operation, deadline, result, pausedFor, () -> {
+                attempt(operation, call, attempt, deadline, result, System.nanoTime());
+            });
+            return;
+        }
+        long permitIn = rateLimiter.admit(System.nanoTime() - dueAt);
+        if (permitIn == UpstreamRateLimiter.REJECTED) {
+            log.warn("Upstream budget exhausted; not sending {}", operation);
+            result.completeExceptionally(UpstreamRateLimiter.tooManyRequests("Upstream request budget exhausted"));
+            return;
+        }
+        if (permitIn > 0) {
+            defer(operation, deadline, result, permitIn, () -> {
+                attempt(operation, call, attempt, deadline, result, dueAt);
+            });
+            return;
+        }
+        try {
+            io.execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    T value = call.get();
+                    attempts(operation, "success").increment();
+                    result.complete(value);
+                } catch (HttpClientErrorException.TooManyRequests ex) {
+                    attempts(operation, "throttled").increment();
+                    if (attempt >= properties.getMaxAttempts()) {
+                        log.warn("Giving up on {} after {} attempts", operation, attempt);
+                        exhausted(operation, "attempts").increment();
+                        result.completeExceptionally(ex);
+                        return;
+                    }
+                    long delay = retryPolicy.delayNanos(attempt, ex);
+                    if (System.nanoTime() + delay - deadline > 0) {
+                        giveUp(operation, "window", result);
+                        return;
+                    }
+                    if (result.isDone()) {
+                        return;
+                    }
+                    if (!retryPolicy.tryRetry()) {
+                        // fail now so the caller can answer from its cache instead of waiting
+                        log.warn("Not retrying {}; the retry budget is spent", operation);
+                        exhausted(operation, "budget").increment();
+                        result.completeExceptionally(ex);
+                        return;
+                    }
+                    log.info("Retrying {} in {} ms (attempt {})", operation, delay / 1_000_000, attempt + 1);
+                    defer(operation, deadline, result, delay, () -> {
+                        attempt(operation, call, attempt + 1, deadline, result, System.nanoTime());
+                    });
+                } catch (Throwable ex) {
+                    attempts(operation, "error").increment();
+                    result.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    private void defer(String operation, long deadline, CompletableFuture<?> result, long delayNanos, Runnable next) {
+        if (System.nanoTime() + delayNanos - deadline > 0) {
+            giveUp(operation, "window", result);
+            return;
+        }
+        pending.incrementAndGet();
+        try {
+            scheduler.schedule(
+                    () -> {
+                        pending.decrementAndGet();
+                        next.run();
+                    },
+                    delayNanos,
+                    TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+            result.completeExceptionally(ex);
+        }
+    }
+
+    private void giveUp(String operation, String reason, CompletableFuture<?> result) {
+        log.warn("Giving up on {}; the data server will not accept it in time", operation);
+        exhausted(operation, reason).increment();
+        result.completeExceptionally(UpstreamRateLimiter.tooManyRequests("Upstream retry window exhausted"));
+    }
+
+    private Counter attempts(String operation, String outcome) {
+        return Counter.builder("upstream.retry.attempts")
+                .description("Attempts at calls to the data server by outcome")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter exhausted(String operation, String reason) {
+        return Counter.builder("upstream.retry.exhausted")
+                .description("Calls to the data server given up after the last attempt, the retry window or budget")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.configs.UpstreamRetryProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Decides whether and when {@link UpstreamRetryExecutor} retries a throttled call.
+ *
+ * <p>The delay honours the data server first: a {@code Retry-After} on the 429, or the reset time
+ * {@link UpstreamRateLimiter} has learned, whichever is later. Only without either does it fall back
+ * to exponential backoff. Every delay gets a random spread so the calls throttled together do not
+ * all come back at the same instant.
+ *
+ * <p>Retries also draw on a budget shared by every caller: each call earns {@code budget.ratio}
+ * of a retry and {@code budget.min-per-second} more accrue over time. When the data server stays
+ * throttled the budget runs dry and calls fail at once, so callers fall back to the cached roster
+ * rather than piling up behind a backoff. Published as the {@code upstream.retry.budget} gauge.
+ */
+@Component
+public class UpstreamRetryPolicy {
+
+    private final UpstreamRetryProperties properties;
+    private final UpstreamRateLimiter rateLimiter;
+
+    private double balance;
+    private long refilledAt;
+
+    public UpstreamRetryPolicy(
+            UpstreamRetryProperties properties, UpstreamRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.balance = properties.getBudget().getMaxBalance();
+        this.refilledAt = System.nanoTime();
+        Gauge.builder("upstream.retry.budget", this, UpstreamRetryPolicy::balance)
+                .description("Retries currently allowed by the shared retry budget")
+                .register(meterRegistry);
+    }
+
+    /** Credits the budget for a new call. */
+    public synchronized void onCall() {
+        refill();
+        balance = Math.min(balance + properties.getBudget().getRatio(), properties.getBudget().getMaxBalance());
+    }
+
+    /** Takes one retry from the budget, if there is one left. */
+    public synchronized boolean tryRetry() {
+        refill();
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    /**
+     * @param attempt the attempt that was throttled, starting at 1
+     * @return how long to wait before the next attempt, in nanoseconds
+     */
+    public long delayNanos(int attempt, HttpClientErrorException.TooManyRequests ex) {
+        long backoff = Math.min(
+                (long) (properties.getInitialDelay().toNanos() * Math.pow(properties.getMultiplier(), attempt - 1)),
+                properties.getMaxDelay().toNanos());
+        long upstream = Math.max(retryAfterNanos(ex.getResponseHeaders()), rateLimiter.nanosUntilPermit());
+        long delay = upstream > 0 ? upstream : backoff;
+        long spread = (long) (delay * Math.max(properties.getJitter(), 0));
+        return spread > 0 ? delay + ThreadLocalRandom.current().nextLong(spread) : delay;
+    }
+
+    public synchronized double balance() {
+        refill();
+        return balance;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double earned = (now - refilledAt) / 1e9 * properties.getBudget().getMinPerSecond();
+        balance = Math.min(balance + earned, properties.getBudget().getMaxBalance());
+        refilledAt = now;
+    }
+
+    private static long retryAfterNanos(HttpHeaders headers) {
+        Duration retryAfter = headers == null ? null : UpstreamRateLimitInterceptor.retryAfter(headers);
+        return retryAfter == null ? 0 : retryAfter.toNanos();
+    }
+}
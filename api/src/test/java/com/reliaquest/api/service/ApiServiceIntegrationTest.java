@@ -11,7 +11,8 @@ import java.util.UUID;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 @SpringBootTest
 class ApiServiceIntegrationTest {
@@ -82,10 +83,9 @@ class ApiServiceIntegrationTest {
         try {
             List<String> highestEarningEmployeeNames = employeeService.getHighestEarningEmployeeNames();
             assertThat(highestEarningEmployeeNames).isNotNull();
-        } catch (HttpClientErrorException.TooManyRequests ex) {
-            List<Employee> fallbackEmployees =
-                    employeeService.fallbackDefaultEmptyList(ex).getData();
-            assertThat(fallbackEmployees).isEmpty();
+        } catch (ResponseStatusException ex) {
+            // throttled by the data server with no earlier roster to answer from
+            assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
         }
     }
 
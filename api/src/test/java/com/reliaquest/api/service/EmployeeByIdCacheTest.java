@@ -0,0 +1,126 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.configs.EmployeeBatchProperties;
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeByIdCacheTest {
+
+    private static final Employee TIGER = employee("Tiger Nixon");
+    private static final Employee GARRETT = employee("Garrett Winters");
+
+    private final EmployeeCacheProperties properties = new EmployeeCacheProperties();
+    private final AtomicLong nanos = new AtomicLong();
+    private final StubClient client = new StubClient(List.of(TIGER, GARRETT));
+    private final EmployeeByIdCache cache;
+
+    EmployeeByIdCacheTest() {
+        properties.getById().setTtl(Duration.ofMinutes(1));
+        properties.getById().setNegativeTtl(Duration.ofSeconds(10));
+        cache = new EmployeeByIdCache(client, properties, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @AfterEach
+    public void stop() {
+        client.stop();
+    }
+
+    @Test
+    public void found_employees_are_cached_for_ttl() {
+        assertThat(cache.get(TIGER.getId()).join()).contains(TIGER);
+
+        advance(Duration.ofSeconds(59));
+        assertThat(cache.get(TIGER.getId()).join()).contains(TIGER);
+        assertThat(client.byId).hasSize(1);
+
+        advance(Duration.ofSeconds(2));
+        assertThat(cache.get(TIGER.getId()).join()).contains(TIGER);
+        assertThat(client.byId).hasSize(2);
+    }
+
+    @Test
+    public void missing_ids_are_cached_for_negative_ttl() {
+        UUID unknown = UUID.randomUUID();
+        assertThat(cache.get(unknown).join()).isEmpty();
+
+        advance(Duration.ofSeconds(9));
+        assertThat(cache.get(unknown).join()).isEmpty();
+        assertThat(client.byId).hasSize(1);
+
+        advance(Duration.ofSeconds(2));
+        assertThat(cache.get(unknown).join()).isEmpty();
+        assertThat(client.byId).hasSize(2);
+    }
+
+    @Test
+    public void get_all_fetches_the_uncached_ids_in_one_call() {
+        UUID unknown = UUID.randomUUID();
+        cache.get(TIGER.getId()).join();
+
+        Map<UUID, Optional<Employee>> found =
+                cache.getAll(List.of(TIGER.getId(), GARRETT.getId(), unknown)).join();
+
+        assertThat(found)
+                .containsEntry(TIGER.getId(), Optional.of(TIGER))
+                .containsEntry(GARRETT.getId(), Optional.of(GARRETT))
+                .containsEntry(unknown, Optional.empty());
+        assertThat(client.batches).containsExactly(Set.of(GARRETT.getId(), unknown));
+
+        cache.getAll(List.of(TIGER.getId(), GARRETT.getId(), unknown)).join();
+        assertThat(client.batches).hasSize(1);
+        assertThat(client.byId).hasSize(1);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder().id(UUID.randomUUID()).name(name).salary(100).build();
+    }
+
+    /** Answers from a fixed roster and records every call. */
+    private static final class StubClient extends EmployeeClient {
+
+        private final List<Employee> roster;
+        private final List<UUID> byId = new CopyOnWriteArrayList<>();
+        private final List<Set<UUID>> batches = new CopyOnWriteArrayList<>();
+
+        StubClient(List<Employee> roster) {
+            super(null, null, new ObjectMapper(), new EmployeeBatchProperties());
+            this.roster = roster;
+        }
+
+        @Override
+        public CompletableFuture<Optional<Employee>> fetchEmployeeById(UUID id) {
+            byId.add(id);
+            return CompletableFuture.completedFuture(roster.stream()
+                    .filter(employee -> employee.getId().equals(id))
+                    .findFirst());
+        }
+
+        @Override
+        public CompletableFuture<List<Employee>> fetchEmployeesByIds(Collection<UUID> ids) {
+            batches.add(Set.copyOf(ids));
+            return CompletableFuture.completedFuture(roster.stream()
+                    .filter(employee -> ids.contains(employee.getId()))
+                    .toList());
+        }
+    }
+}
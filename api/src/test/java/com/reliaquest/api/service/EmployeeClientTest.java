@@ -0,0 +1,126 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.configs.EmployeeBatchProperties;
+import com.reliaquest.api.configs.UpstreamRateLimitProperties;
+import com.reliaquest.api.configs.UpstreamRetryProperties;
+import com.reliaquest.api.web.UpstreamRateLimiter;
+import com.reliaquest.api.web.UpstreamRetryExecutor;
+import com.reliaquest.api.web.UpstreamRetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+class EmployeeClientTest {
+
+    private static final String URL = "http://dataserver/api/v1/employee";
+    private static final String ROSTER = "{\"data\":[{\"id\":\"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507\","
+            + "\"employee_name\":\"Tiger Nixon\",\"employee_salary\":320800}]}";
+
+    private MockRestServiceServer server;
+    private UpstreamRetryExecutor retryExecutor;
+    private EmployeeClient client;
+
+    @BeforeEach
+    public void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl(URL);
+        server = MockRestServiceServer.bindTo(builder).build();
+        UpstreamRateLimitProperties limits = new UpstreamRateLimitProperties();
+        limits.setEnabled(false);
+        UpstreamRetryProperties retries = new UpstreamRetryProperties();
+        UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(limits, new SimpleMeterRegistry());
+        retryExecutor = new UpstreamRetryExecutor(
+                retries,
+                rateLimiter,
+                new UpstreamRetryPolicy(retries, rateLimiter, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+        client = new EmployeeClient(
+                builder.build(), retryExecutor, new ObjectMapper(), new EmployeeBatchProperties());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        client.stop();
+        retryExecutor.stop();
+    }
+
+    @Test
+    public void refresh_of_an_unchanged_roster_reuses_the_snapshot() {
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(ROSTER, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "W/\"a-1\""));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"a-1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, "W/\"a-1\""));
+
+        EmployeeSnapshot first = client.fetchRoster().join();
+        EmployeeSnapshot second = client.fetchRoster(first).join();
+
+        assertThat(first.etag()).isEqualTo("W/\"a-1\"");
+        assertThat(first.size()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        server.verify();
+    }
+
+    @Test
+    public void changed_roster_is_fetched_in_full() {
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(ROSTER, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "W/\"a-1\""));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"a-1\""))
+                .andRespond(withSuccess("{\"data\":[]}", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, "W/\"a-2\""));
+
+        EmployeeSnapshot first = client.fetchRoster().join();
+        EmployeeSnapshot second = client.fetchRoster(first).join();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.etag()).isEqualTo("W/\"a-2\"");
+        assertThat(second.size()).isZero();
+        server.verify();
+    }
+
+    @Test
+    public void change_feed_is_empty_when_the_gap_is_too_large_or_the_server_restarted() {
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(ROSTER, MediaType.APPLICATION_JSON)
+                        .header("X-Roster-Instance", "a")
+                        .header("X-Roster-Sequence", "3"));
+        server.expect(requestTo(URL + "/changes?since=3"))
+                .andRespond(withSuccess(
+                        """
+                        {"data":{"instance":"a","sequence":4,"changes":[{"sequence":4,"type":"DELETED",
+                         "employee":{"id":"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"}}]}}
+                        """,
+                        MediaType.APPLICATION_JSON));
+        server.expect(requestTo(URL + "/changes?since=4")).andRespond(withStatus(HttpStatus.GONE));
+        server.expect(requestTo(URL + "/changes?since=4"))
+                .andRespond(withSuccess(
+                        "{\"data\":{\"instance\":\"b\",\"sequence\":0,\"changes\":[]}}",
+                        MediaType.APPLICATION_JSON));
+
+        EmployeeSnapshot snapshot = client.fetchRoster().join();
+        assertThat(snapshot.changeInstance()).isEqualTo("a");
+        EmployeeSnapshot updated =
+                snapshot.withChanges(client.fetchChanges("a", snapshot.changeSequence()).join().orElseThrow());
+
+        assertThat(updated.size()).isZero();
+        assertThat(snapshot.size()).isOne();
+        assertThat(client.fetchChanges("a", 4).join()).isEmpty();
+        assertThat(client.fetchChanges("a", 4).join()).isEmpty();
+        server.verify();
+    }
+}
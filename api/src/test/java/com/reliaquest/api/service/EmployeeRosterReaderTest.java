@@ -0,0 +1,57 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.reliaquest.api.models.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class EmployeeRosterReaderTest {
+
+    private static final UUID BOB_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    private final EmployeeRosterReader reader =
+            new EmployeeRosterReader(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    public void streams_roster_into_snapshot() throws IOException {
+        EmployeeSnapshot snapshot = read("""
+                {"status":"Successfully processed request.",
+                 "data":[
+                   {"id":"123e4567-e89b-12d3-a456-426614174000","employee_name":"Bob Dooley DVM",
+                    "employee_salary":50000,"employee_age":30,"employee_title":"Veterinarian",
+                    "employee_email":"bob@company.com"},
+                   {"id":"%s","employee_name":"Alice Smith","employee_salary":90000,
+                    "employee_age":41,"employee_title":"Engineer","employee_email":"alice@company.com",
+                    "extra":{"ignored":[1,2,3]}}
+                 ],
+                 "trailer":{"nested":true}}
+                """.formatted(UUID.randomUUID()));
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.findById(BOB_ID)).map(Employee::getName).contains("Bob Dooley DVM");
+        assertThat(snapshot.highestSalary()).isEqualTo(90000);
+        assertThat(snapshot.employees()).extracting(Employee::getName).containsExactly("Bob Dooley DVM", "Alice Smith");
+    }
+
+    @Test
+    public void missing_or_null_data_is_an_empty_roster() throws IOException {
+        assertThat(read("{\"status\":\"ok\"}").size()).isZero();
+        assertThat(read("{\"data\":null}").size()).isZero();
+    }
+
+    @Test
+    public void rejects_a_payload_that_is_not_an_object() {
+        assertThatThrownBy(() -> read("[]")).isInstanceOf(JsonParseException.class);
+    }
+
+    private EmployeeSnapshot read(String json) throws IOException {
+        return reader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,166 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.configs.EmployeeBatchProperties;
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import com.reliaquest.api.configs.EmployeeSearchProperties;
+import com.reliaquest.api.configs.UpstreamRateLimitProperties;
+import com.reliaquest.api.configs.UpstreamRetryProperties;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeData;
+import com.reliaquest.api.web.SingleFlight;
+import com.reliaquest.api.web.UpstreamRateLimiter;
+import com.reliaquest.api.web.UpstreamRetryExecutor;
+import com.reliaquest.api.web.UpstreamRetryPolicy;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class EmployeeServiceTest {
+
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(200);
+
+    private final UpstreamRetryProperties retries = new UpstreamRetryProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UpstreamRetryExecutor retryExecutor;
+    private StubClient client;
+    private EmployeeSnapshotCache snapshotCache;
+    private LastKnownGoodStore lastKnownGood;
+    private EmployeeService service;
+
+    @BeforeEach
+    public void setUp() {
+        retries.setInitialDelay(Duration.ofMillis(50));
+        retries.setMultiplier(1);
+        retries.setJitter(0);
+        retries.setMaxAttempts(100);
+        UpstreamRateLimitProperties limits = new UpstreamRateLimitProperties();
+        limits.setEnabled(false);
+        UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(limits, meterRegistry);
+        retryExecutor = new UpstreamRetryExecutor(
+                retries, rateLimiter, new UpstreamRetryPolicy(retries, rateLimiter, meterRegistry), meterRegistry);
+        client = new StubClient(retryExecutor);
+
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        cacheProperties.setRefreshInterval(Duration.ZERO);
+        cacheProperties.setPreload(false);
+        lastKnownGood = new LastKnownGoodStore(cacheProperties, new ObjectMapper());
+        snapshotCache = new EmployeeSnapshotCache(client, cacheProperties, lastKnownGood, meterRegistry);
+        service = new EmployeeService(
+                client,
+                snapshotCache,
+                new EmployeeByIdCache(client, cacheProperties, meterRegistry),
+                lastKnownGood,
+                new EmployeeSearchProperties(),
+                new EmployeeBatchProperties(),
+                new ModelMapper(),
+                meterRegistry,
+                TimeLimiterRegistry.of(
+                        TimeLimiterConfig.custom().timeoutDuration(READ_TIMEOUT).build()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        snapshotCache.stop();
+        lastKnownGood.stop();
+        client.stop();
+        retryExecutor.stop();
+    }
+
+    @Test
+    public void slow_create_completes_past_the_read_time_limit() {
+        client.createLatency = READ_TIMEOUT.multipliedBy(2);
+        EmployeeData data = EmployeeData.builder()
+                .name("Tiger Nixon")
+                .salary(320800)
+                .age(61)
+                .title("Architect")
+                .email("tiger@company.com")
+                .build();
+
+        Employee created = service.createEmployee(data);
+
+        assertThat(created.getName()).isEqualTo("Tiger Nixon");
+        // the write-through ran, so the lookup needs no upstream call
+        assertThat(service.getEmployeeById(created.getId().toString())).isEqualTo(created);
+        assertThat(client.attempts).hasValue(0);
+    }
+
+    @Test
+    public void timed_out_lookup_stops_retrying() throws Exception {
+        String id = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> service.getEmployeeById(id)).hasCauseInstanceOf(TimeoutException.class);
+
+        assertThat(client.lookups).singleElement().satisfies(lookup -> assertThat(lookup).isCancelled());
+        // an attempt already handed to an io thread may still finish; nothing is sent after it
+        TimeUnit.MILLISECONDS.sleep(100);
+        int attempts = client.attempts.get();
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertThat(attempts).isGreaterThan(1);
+        assertThat(client.attempts).hasValue(attempts);
+    }
+
+    /**
+     * Creates after a delay and throttles every lookup, through the same single flight and retry
+     * executor as the real client.
+     */
+    private static final class StubClient extends EmployeeClient {
+
+        private final UpstreamRetryExecutor retryExecutor;
+        private final SingleFlight<UUID, Optional<Employee>> byIdFlight = new SingleFlight<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final List<CompletableFuture<Optional<Employee>>> lookups = new CopyOnWriteArrayList<>();
+        private volatile Duration createLatency = Duration.ZERO;
+
+        StubClient(UpstreamRetryExecutor retryExecutor) {
+            super(null, null, new ObjectMapper(), new EmployeeBatchProperties());
+            this.retryExecutor = retryExecutor;
+        }
+
+        @Override
+        public CompletableFuture<Employee> createEmployee(EmployeeData employeeInput) {
+            Employee created = Employee.builder()
+                    .id(UUID.randomUUID())
+                    .name(employeeInput.getName())
+                    .salary(employeeInput.getSalary())
+                    .build();
+            return CompletableFuture.supplyAsync(
+                    () -> created,
+                    CompletableFuture.delayedExecutor(createLatency.toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        public CompletableFuture<Optional<Employee>> fetchEmployeeById(UUID id) {
+            return byIdFlight.execute(id, () -> {
+                CompletableFuture<Optional<Employee>> lookup = retryExecutor.execute("fetchEmployeeById", () -> {
+                    attempts.incrementAndGet();
+                    throw HttpClientErrorException.create(
+                            HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", HttpHeaders.EMPTY, null, null);
+                });
+                lookups.add(lookup);
+                return lookup;
+            });
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.configs.EmployeeBatchProperties;
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class EmployeeSnapshotCacheTest {
+
+    private static final Employee TIGER = employee("Tiger Nixon", 320800);
+    private static final Employee GARRETT = employee("Garrett Winters", 170750);
+
+    private final EmployeeCacheProperties properties = new EmployeeCacheProperties();
+    private final AtomicLong nanos = new AtomicLong();
+    private final StubClient client = new StubClient();
+    private EmployeeSnapshotCache cache;
+
+    @BeforeEach
+    public void configure() {
+        properties.setRefreshAfter(Duration.ofSeconds(30));
+        properties.setTtl(Duration.ofMinutes(10));
+        properties.setRefreshInterval(Duration.ZERO);
+        properties.setPreload(false);
+    }
+
+    @AfterEach
+    public void stop() {
+        if (cache != null) {
+            cache.stop();
+        }
+        client.stop();
+    }
+
+    @Test
+    public void concurrent_misses_share_one_load() throws Exception {
+        cache = open(client);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<CompletableFuture<CompletableFuture<EmployeeSnapshot>>> reads = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> {
+                            awaitQuietly(ready);
+                            return cache.getAsync();
+                        },
+                        callers))
+                .toList();
+        ready.countDown();
+        List<CompletableFuture<EmployeeSnapshot>> pending =
+                reads.stream().map(CompletableFuture::join).toList();
+
+        assertThat(pending).noneMatch(CompletableFuture::isDone);
+        client.next().complete(EmployeeSnapshot.of(List.of(TIGER)));
+
+        for (CompletableFuture<EmployeeSnapshot> read : pending) {
+            assertThat(read.get(1, TimeUnit.SECONDS).findById(TIGER.getId())).contains(TIGER);
+        }
+        assertThat(client.calls).isEmpty();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void refresh_serves_the_old_roster_until_the_new_one_arrives() throws Exception {
+        cache = open(client);
+        CompletableFuture<EmployeeSnapshot> first = cache.getAsync();
+        client.next().complete(EmployeeSnapshot.of(List.of(TIGER)));
+        assertThat(first.get(1, TimeUnit.SECONDS).size()).isEqualTo(1);
+
+        nanos.addAndGet(properties.getRefreshAfter().plusSeconds(1).toNanos());
+        EmployeeSnapshot stale = cache.get();
+        CompletableFuture<EmployeeSnapshot> reload = client.next();
+
+        assertThat(stale.findById(GARRETT.getId())).isEmpty();
+        assertThat(cache.get().findById(GARRETT.getId())).isEmpty();
+
+        reload.complete(EmployeeSnapshot.of(List.of(TIGER, GARRETT)));
+
+        assertThat(cache.get().findById(GARRETT.getId())).contains(GARRETT);
+        assertThat(client.calls).isEmpty();
+    }
+
+    @Test
+    public void expired_roster_is_loaded_again() throws Exception {
+        cache = open(client);
+        CompletableFuture<EmployeeSnapshot> first = cache.getAsync();
+        client.next().complete(EmployeeSnapshot.of(List.of(TIGER)));
+        first.get(1, TimeUnit.SECONDS);
+
+        nanos.addAndGet(properties.getTtl().plusSeconds(1).toNanos());
+        CompletableFuture<EmployeeSnapshot> expired = cache.getAsync();
+
+        assertThat(expired).isNotDone();
+        assertThat(cache.getIfPresent()).isEmpty();
+        client.next().complete(EmployeeSnapshot.of(List.of(GARRETT)));
+        assertThat(expired.get(1, TimeUnit.SECONDS).findById(TIGER.getId())).isEmpty();
+        assertThat(cache.getIfPresent().flatMap(snapshot -> snapshot.findById(GARRETT.getId())))
+                .contains(GARRETT);
+    }
+
+    @Test
+    public void write_during_a_reload_is_kept() throws Exception {
+        cache = open(client);
+        CompletableFuture<EmployeeSnapshot> first = cache.getAsync();
+        client.next().complete(EmployeeSnapshot.of(List.of(TIGER)));
+        first.get(1, TimeUnit.SECONDS);
+
+        nanos.addAndGet(properties.getRefreshAfter().plusSeconds(1).toNanos());
+        cache.get();
+        CompletableFuture<EmployeeSnapshot> reload = client.next();
+        cache.onCreated(GARRETT);
+        assertThat(cache.get().findById(GARRETT.getId())).contains(GARRETT);
+
+        // the data server answered before the create reached it
+        reload.complete(EmployeeSnapshot.of(List.of(TIGER)));
+
+        assertThat(cache.get().findById(GARRETT.getId())).contains(GARRETT);
+    }
+
+    @Test
+    public void writes_racing_reloads_are_never_lost() throws Exception {
+        properties.setTtl(Duration.ofDays(1));
+        ServerClient server = new ServerClient();
+        cache = open(server);
+        cache.get();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Thread reloads = new Thread(() -> {
+            while (writing.get()) {
+                nanos.addAndGet(properties.getRefreshAfter().plusSeconds(1).toNanos());
+                cache.get();
+            }
+        });
+        reloads.start();
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<CompletableFuture<Void>> writes = IntStream.range(0, 2_000)
+                .mapToObj(i -> CompletableFuture.runAsync(
+                        () -> {
+                            Employee employee = employee("Employee " + i, i);
+                            server.create(employee);
+                            cache.onCreated(employee);
+                        },
+                        writers))
+                .toList();
+        writes.forEach(CompletableFuture::join);
+        writing.set(false);
+        reloads.join();
+        server.awaitIdle();
+        writers.shutdownNow();
+        server.stop();
+
+        EmployeeSnapshot snapshot = cache.getIfPresent().orElseThrow();
+        assertThat(snapshot.size()).isEqualTo(2_000);
+        assertThat(server.roster()).allSatisfy(employee -> assertThat(snapshot.findById(employee.getId()))
+                .isPresent());
+    }
+
+    private EmployeeSnapshotCache open(EmployeeClient employeeClient) {
+        LastKnownGoodStore lastKnownGood =
+                new LastKnownGoodStore(properties, Jackson2ObjectMapperBuilder.json().build());
+        return new EmployeeSnapshotCache(
+                employeeClient, properties, lastKnownGood, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Employee employee(String name, int salary) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .build();
+    }
+
+    /** Hands out one pending roster fetch per call, for the test to complete. */
+    private static final class StubClient extends EmployeeClient {
+
+        private final BlockingQueue<CompletableFuture<EmployeeSnapshot>> calls = new LinkedBlockingQueue<>();
+
+        StubClient() {
+            super(null, null, new ObjectMapper(), new EmployeeBatchProperties());
+        }
+
+        @Override
+        public CompletableFuture<EmployeeSnapshot> fetchRoster(EmployeeSnapshot current) {
+            CompletableFuture<EmployeeSnapshot> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        }
+
+        CompletableFuture<EmployeeSnapshot> next() throws InterruptedException {
+            CompletableFuture<EmployeeSnapshot> call = calls.poll(1, TimeUnit.SECONDS);
+            assertThat(call).as("roster fetch").isNotNull();
+            return call;
+        }
+    }
+
+    /**
+     * Answers with the roster as it was when the fetch was sent, completing it later on another
+     * thread the way a response would arrive.
+     */
+    private static final class ServerClient extends EmployeeClient {
+
+        private final List<Employee> roster = new ArrayList<>();
+        private final ExecutorService responses = Executors.newSingleThreadExecutor();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        ServerClient() {
+            super(null, null, new ObjectMapper(), new EmployeeBatchProperties());
+        }
+
+        @Override
+        public CompletableFuture<EmployeeSnapshot> fetchRoster(EmployeeSnapshot current) {
+            EmployeeSnapshot snapshot = EmployeeSnapshot.of(roster());
+            CompletableFuture<EmployeeSnapshot> call = new CompletableFuture<>();
+            inFlight.incrementAndGet();
+            responses.execute(() -> {
+                call.complete(snapshot);
+                inFlight.decrementAndGet();
+            });
+            return call;
+        }
+
+        synchronized void create(Employee employee) {
+            roster.add(employee);
+        }
+
+        synchronized List<Employee> roster() {
+            return List.copyOf(roster);
+        }
+
+        void awaitIdle() throws InterruptedException {
+            for (int i = 0; i < 500 && inFlight.get() > 0; i++) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertThat(inFlight).hasValue(0);
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            responses.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeChange;
+import com.reliaquest.api.models.EmployeeChanges;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    private static final UUID BOB_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    private final EmployeeSnapshot snapshot = EmployeeSnapshot.of(List.of(
+            new Employee(BOB_ID, "Bob Dooley DVM", 50000, 30, "Veterinarian", "bob@company.com"),
+            new Employee(UUID.randomUUID(), "Alice Smith", 90000, 41, "Engineer", "alice@company.com"),
+            new Employee(UUID.randomUUID(), "Carol Jones", 70000, 35, "Analyst", "carol@company.com")));
+
+    @Test
+    public void find_by_id_successful() {
+        assertThat(snapshot.findById(BOB_ID)).map(Employee::getName).contains("Bob Dooley DVM");
+        assertThat(snapshot.findById(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    public void highest_salary_successful() {
+        assertThat(snapshot.highestSalary()).isEqualTo(90000);
+        assertThat(EmployeeSnapshot.empty().highestSalary()).isNull();
+    }
+
+    @Test
+    public void top_earners_are_ordered_by_salary() {
+        assertThat(snapshot.topEarners(2))
+                .extracting(Employee::getName)
+                .containsExactly("Alice Smith", "Carol Jones");
+        assertThat(snapshot.topEarners(10)).hasSize(3);
+    }
+
+    @Test
+    public void employees_keep_upstream_order() {
+        assertThat(snapshot.employees()).extracting(Employee::getName).startsWith("Bob Dooley DVM");
+    }
+
+    @Test
+    public void write_through_patches_update_indexes() {
+        Employee dana = new Employee(UUID.randomUUID(), "Dana White", 120000, 29, "Manager", "dana@company.com");
+
+        EmployeeSnapshot created = snapshot.with(dana);
+        assertThat(created.findById(dana.getId())).contains(dana);
+        assertThat(created.highestSalary()).isEqualTo(120000);
+        assertThat(created.employees()).last().isEqualTo(dana);
+
+        EmployeeSnapshot deleted = created.without(dana.getId()).without(BOB_ID);
+        assertThat(deleted.findById(dana.getId())).isEmpty();
+        assertThat(deleted.highestSalary()).isEqualTo(90000);
+        assertThat(deleted.size()).isEqualTo(2);
+        assertThat(deleted.topEarners(10)).extracting(Employee::getName).doesNotContain("Bob Dooley DVM");
+    }
+
+    @Test
+    public void patches_leave_the_original_snapshot_unchanged() {
+        Employee dana = new Employee(UUID.randomUUID(), "Dana White", 120000, 29, "Manager", "dana@company.com");
+
+        snapshot.with(dana).without(BOB_ID);
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.findById(dana.getId())).isEmpty();
+        assertThat(snapshot.findById(BOB_ID)).isPresent();
+        assertThat(snapshot.highestSalary()).isEqualTo(90000);
+        assertThat(snapshot.searchByName("dana", 0, 10)).isEmpty();
+        assertThat(snapshot.without(UUID.randomUUID())).isSameAs(snapshot);
+    }
+
+    @Test
+    public void top_earner_ties_are_ordered_by_name() {
+        EmployeeSnapshot tied = EmployeeSnapshot.of(List.of(
+                employee("Zed", 80000), employee("Amy", 80000), employee("Max", 95000), employee("Nobody", null)));
+
+        assertThat(tied.topEarnerNames()).containsExactly("Max", "Amy", "Zed", "Nobody");
+        assertThat(tied.highestSalary()).isEqualTo(95000);
+    }
+
+    @Test
+    public void top_earners_refill_when_a_top_earner_is_deleted() {
+        List<Employee> employees = IntStream.range(0, 100)
+                .mapToObj(i -> employee("Employee " + i, 1000 * ((i * 37) % 100)))
+                .toList();
+        EmployeeSnapshot large = EmployeeSnapshot.of(employees);
+        Employee best = employees.stream()
+                .max(Comparator.comparing(Employee::getSalary))
+                .orElseThrow();
+
+        assertThat(large.topEarnerNames()).hasSize(EmployeeSnapshot.TOP_EARNERS).startsWith(best.getName());
+        large = large.without(best.getId());
+
+        assertThat(large.topEarnerNames()).hasSize(EmployeeSnapshot.TOP_EARNERS).doesNotContain(best.getName());
+        assertThat(large.topEarners(EmployeeSnapshot.TOP_EARNERS))
+                .extracting(Employee::getSalary)
+                .isSortedAccordingTo(Comparator.reverseOrder())
+                .containsExactlyElementsOf(employees.stream()
+                        .filter(employee -> employee != best)
+                        .map(Employee::getSalary)
+                        .sorted(Comparator.reverseOrder())
+                        .limit(EmployeeSnapshot.TOP_EARNERS)
+                        .toList());
+        assertThat(large.topEarners(50)).hasSize(50);
+    }
+
+    @Test
+    public void deep_top_earner_queries_select_from_the_whole_roster() {
+        List<Employee> employees = IntStream.range(0, 200)
+                .mapToObj(i -> employee("Employee " + i, i % 7 == 0 ? null : 1000 * ((i * 37) % 200)))
+                .toList();
+        EmployeeSnapshot large = EmployeeSnapshot.of(employees);
+
+        assertThat(large.topEarners(50))
+                .containsExactlyElementsOf(employees.stream()
+                        .sorted(Comparator.comparing(
+                                        Employee::getSalary, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+                                .thenComparing(Employee::getName))
+                        .limit(50)
+                        .toList());
+        assertThat(large.topEarners(1_000)).hasSize(200).last().extracting(Employee::getSalary).isNull();
+    }
+
+    @Test
+    public void search_by_name_matches_substrings_ignoring_case() {
+        assertThat(snapshot.searchByName("SMITH", 0, 10)).extracting(Employee::getName).containsExactly("Alice Smith");
+        assertThat(snapshot.searchByName("o", 0, 10))
+                .extracting(Employee::getName)
+                .containsExactly("Bob Dooley DVM", "Carol Jones");
+        assertThat(snapshot.searchByName("Burtangles", 0, 10)).isEmpty();
+        assertThat(snapshot.searchByName("xyz", 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void search_by_name_pages_in_roster_order() {
+        EmployeeSnapshot many = EmployeeSnapshot.of(IntStream.range(0, 30)
+                .mapToObj(i -> employee("Jane Doe " + i, 1000))
+                .toList());
+
+        assertThat(many.searchByName("jane", 0, 5)).extracting(Employee::getName).containsExactly(
+                "Jane Doe 0", "Jane Doe 1", "Jane Doe 2", "Jane Doe 3", "Jane Doe 4");
+        assertThat(many.searchByName("jane", 28, 5)).extracting(Employee::getName).containsExactly(
+                "Jane Doe 28", "Jane Doe 29");
+        assertThat(many.searchByName("doe 1", 0, 100)).hasSize(11);
+        assertThat(many.searchByName("jane", 0, 0)).isEmpty();
+    }
+
+    @Test
+    public void search_index_follows_creates_and_deletes() {
+        Employee dana = employee("Dana Whitfield", 1000);
+        EmployeeSnapshot created = snapshot.with(dana);
+        assertThat(created.searchByName("whitf", 0, 10)).containsExactly(dana);
+
+        EmployeeSnapshot deleted = created.without(dana.getId()).without(BOB_ID);
+        assertThat(deleted.searchByName("whitf", 0, 10)).isEmpty();
+        assertThat(deleted.searchByName("dooley", 0, 10)).isEmpty();
+        assertThat(deleted.searchByName("jones", 0, 10)).extracting(Employee::getName).containsExactly("Carol Jones");
+    }
+
+    @Test
+    public void batch_of_creates_is_applied_in_order() {
+        Employee dana = employee("Dana White", 120000);
+        Employee erin = employee("Erin Black", 60000);
+        Employee renamedBob = new Employee(BOB_ID, "Robert Dooley", 55000, 30, "Veterinarian", "bob@company.com");
+
+        EmployeeSnapshot created = snapshot.withAll(List.of(dana, renamedBob, erin));
+
+        assertThat(created.employees())
+                .extracting(Employee::getName)
+                .containsExactly("Alice Smith", "Carol Jones", "Dana White", "Robert Dooley", "Erin Black");
+        assertThat(created.findById(BOB_ID)).contains(renamedBob);
+        assertThat(created.searchByName("dooley", 0, 10)).containsExactly(renamedBob);
+        assertThat(created.topEarnerNames()).startsWith("Dana White", "Alice Smith");
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.withAll(List.of())).isSameAs(snapshot);
+    }
+
+    @Test
+    public void patched_snapshots_answer_like_a_fresh_one() {
+        Random random = new Random(7);
+        String[] names = {"Jane", "John", "Ann", "Annabel", "Hannah", "Joanna", "Dan", "Daniel"};
+        Supplier<Employee> next = () -> employee(
+                names[random.nextInt(names.length)] + " " + names[random.nextInt(names.length)] + "son",
+                random.nextInt(20) == 0 ? null : 1000 * random.nextInt(200));
+        List<Employee> expected = new ArrayList<>(Stream.generate(next).limit(3_000).toList());
+        EmployeeSnapshot patched = EmployeeSnapshot.of(expected);
+
+        for (int i = 0; i < 600; i++) {
+            if (random.nextInt(3) == 0) {
+                Employee deleted = expected.remove(random.nextInt(expected.size()));
+                patched = patched.without(deleted.getId());
+            } else if (random.nextInt(4) == 0) {
+                List<Employee> batch = Stream.generate(next).limit(5).toList();
+                expected.addAll(batch);
+                patched = patched.withAll(batch);
+            } else {
+                Employee created = next.get();
+                expected.add(created);
+                patched = patched.with(created);
+            }
+        }
+        EmployeeSnapshot result = patched;
+        EmployeeSnapshot fresh = EmployeeSnapshot.of(expected);
+
+        assertThat(result.employees()).containsExactlyElementsOf(expected);
+        assertThat(result.size()).isEqualTo(expected.size());
+        assertThat(expected).allSatisfy(employee -> assertThat(result.findById(employee.getId()))
+                .contains(employee));
+        assertThat(result.topEarnerNames()).isEqualTo(fresh.topEarnerNames());
+        assertThat(result.topEarners(100)).isEqualTo(fresh.topEarners(100));
+        for (String needle : List.of("ann", "hannah", "jo", "dan", "son jo", "nnab", "xyz")) {
+            assertThat(result.searchByName(needle, 0, Integer.MAX_VALUE))
+                    .as(needle)
+                    .isEqualTo(fresh.searchByName(needle, 0, Integer.MAX_VALUE));
+        }
+    }
+
+    private static Employee employee(String name, Integer salary) {
+        return new Employee(UUID.randomUUID(), name, salary, 30, "Title", name + "@company.com");
+    }
+
+    @Test
+    public void change_feed_is_applied_idempotently() {
+        Employee dana = new Employee(UUID.randomUUID(), "Dana White", 120000, 29, "Manager", "dana@company.com");
+        Employee bob = snapshot.findById(BOB_ID).orElseThrow();
+        EmployeeChanges changes = new EmployeeChanges(
+                "a",
+                7,
+                List.of(
+                        new EmployeeChange(6, EmployeeChange.Type.CREATED, dana),
+                        new EmployeeChange(7, EmployeeChange.Type.DELETED, bob)));
+        EmployeeSnapshot tagged = snapshot.tagged("W/\"a-5\"", "a", 5);
+
+        EmployeeSnapshot updated = tagged.withChanges(changes).withChanges(changes);
+
+        assertThat(updated.size()).isEqualTo(3);
+        assertThat(updated.findById(BOB_ID)).isEmpty();
+        assertThat(updated.highestSalary()).isEqualTo(120000);
+        assertThat(updated.changeInstance()).isEqualTo("a");
+        assertThat(updated.changeSequence()).isEqualTo(7);
+        assertThat(updated.etag()).isNull();
+        assertThat(tagged.findById(BOB_ID)).isPresent();
+        assertThat(tagged.etag()).isEqualTo("W/\"a-5\"");
+    }
+}
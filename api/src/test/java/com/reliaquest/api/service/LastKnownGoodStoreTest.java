@@ -0,0 +1,61 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import com.reliaquest.api.models.Employee;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class LastKnownGoodStoreTest {
+
+    private static final Employee TIGER = Employee.builder()
+            .id(UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"))
+            .name("Tiger Nixon")
+            .salary(320800)
+            .build();
+
+    private final EmployeeCacheProperties properties = new EmployeeCacheProperties();
+
+    @Test
+    public void nothing_is_served_past_max_stale() {
+        properties.setMaxStale(Duration.ZERO);
+        LastKnownGoodStore store = new LastKnownGoodStore(properties, Jackson2ObjectMapperBuilder.json().build());
+
+        store.save(EmployeeSnapshot.of(List.of(TIGER)));
+
+        assertThat(store.get()).isEmpty();
+    }
+
+    @Test
+    public void spilled_roster_is_restored_on_startup(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("roster.json");
+        properties.setSpillFile(file.toString());
+        properties.setSpillDelay(Duration.ZERO);
+        LastKnownGoodStore store = new LastKnownGoodStore(properties, Jackson2ObjectMapperBuilder.json().build());
+        store.save(EmployeeSnapshot.of(List.of(TIGER)));
+        for (int i = 0; i < 50 && !Files.exists(file); i++) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        store.stop();
+
+        LastKnownGoodStore restarted = new LastKnownGoodStore(properties, Jackson2ObjectMapperBuilder.json().build());
+        restarted.restore();
+
+        assertThat(restarted.get()).hasValueSatisfying(lastKnownGood -> {
+            assertThat(lastKnownGood.snapshot().findById(TIGER.getId())).contains(TIGER);
+            // the file's modification time may be coarser than the clock
+            assertThat(lastKnownGood.asOf()).isCloseTo(store.get().orElseThrow().asOf(), within(1, ChronoUnit.SECONDS));
+        });
+        restarted.stop();
+    }
+}
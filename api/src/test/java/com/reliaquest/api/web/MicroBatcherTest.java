@@ -0,0 +1,106 @@
+package com.reliaquest.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    private final List<List<Integer>> calls = new CopyOnWriteArrayList<>();
+    private MicroBatcher<Integer, String> batcher;
+
+    @AfterEach
+    public void tearDown() {
+        batcher.close();
+    }
+
+    @Test
+    public void items_within_the_window_share_one_call() {
+        batcher = new MicroBatcher<>("test-batch", Duration.ofMillis(50), 100, this::echo);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(batcher.submit(i));
+        }
+
+        assertThat(results.get(9)).succeedsWithin(Duration.ofSeconds(5)).isEqualTo("9");
+        assertThat(results)
+                .extracting(CompletableFuture::join)
+                .containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    public void a_full_batch_is_sent_without_waiting_for_the_window() {
+        batcher = new MicroBatcher<>("test-batch", Duration.ofHours(1), 3, this::echo);
+
+        List<CompletableFuture<String>> results = List.of(batcher.submit(1), batcher.submit(2), batcher.submit(3));
+
+        assertThat(results).allMatch(CompletableFuture::isDone);
+        assertThat(calls).containsExactly(List.of(1, 2, 3));
+    }
+
+    @Test
+    public void a_failed_call_fails_every_item() {
+        batcher = new MicroBatcher<>("test-batch", Duration.ofMillis(10), 100, items -> {
+            calls.add(items);
+            return CompletableFuture.failedFuture(new IllegalStateException("down"));
+        });
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertThat(first).failsWithin(Duration.ofSeconds(5));
+        assertThat(second).failsWithin(Duration.ofSeconds(5));
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    public void a_refused_batch_is_sent_again_item_by_item() {
+        batcher = new MicroBatcher<>(
+                "test-batch",
+                Duration.ofMillis(10),
+                100,
+                items -> {
+                    calls.add(items);
+                    return CompletableFuture.failedFuture(new IllegalArgumentException("bad item"));
+                },
+                item -> {
+                    calls.add(List.of(item));
+                    return item == 2
+                            ? CompletableFuture.failedFuture(new IllegalArgumentException("bad item"))
+                            : CompletableFuture.completedFuture(String.valueOf(item));
+                },
+                IllegalArgumentException.class::isInstance);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+
+        assertThat(first).succeedsWithin(Duration.ofSeconds(5)).isEqualTo("1");
+        assertThat(second).failsWithin(Duration.ofSeconds(5));
+        assertThat(calls).containsExactly(List.of(1, 2), List.of(1), List.of(2));
+    }
+
+    @Test
+    public void items_cancelled_within_the_window_are_not_sent() {
+        batcher = new MicroBatcher<>("test-batch", Duration.ofMillis(50), 100, this::echo);
+
+        CompletableFuture<String> cancelled = batcher.submit(1);
+        CompletableFuture<String> kept = batcher.submit(2);
+        cancelled.cancel(true);
+
+        assertThat(kept).succeedsWithin(Duration.ofSeconds(5)).isEqualTo("2");
+        assertThat(calls).containsExactly(List.of(2));
+    }
+
+    private CompletableFuture<List<String>> echo(List<Integer> items) {
+        calls.add(items);
+        return CompletableFuture.completedFuture(items.stream().map(String::valueOf).toList());
+    }
+}
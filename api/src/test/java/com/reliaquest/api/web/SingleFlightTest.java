@@ -0,0 +1,88 @@
+package com.reliaquest.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+    @Test
+    public void concurrent_callers_share_one_call() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            callers.add(flight.execute("all", () -> {
+                calls.incrementAndGet();
+                return upstream;
+            }));
+        }
+        upstream.complete("roster");
+
+        assertThat(calls).hasValue(1);
+        assertThat(callers).allMatch(caller -> "roster".equals(caller.join()));
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    public void callers_share_the_failure_and_the_next_call_starts_fresh() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.execute("all", () -> upstream);
+        CompletableFuture<String> second = flight.execute("all", () -> CompletableFuture.completedFuture("unused"));
+        upstream.completeExceptionally(new IllegalStateException("boom"));
+
+        assertThat(first).failsWithin(Duration.ZERO).withThrowableOfType(Exception.class);
+        assertThat(second).failsWithin(Duration.ZERO).withThrowableOfType(Exception.class);
+        assertThat(flight.execute("all", () -> CompletableFuture.completedFuture("fresh")))
+                .isCompletedWithValue("fresh");
+    }
+
+    @Test
+    public void different_keys_do_not_share() {
+        AtomicInteger calls = new AtomicInteger();
+        flight.execute("a", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        flight.execute("b", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertThat(calls).hasValue(2);
+        assertThat(flight.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    public void cancelling_one_caller_does_not_cancel_the_others() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.execute("all", () -> upstream);
+        CompletableFuture<String> second = flight.execute("all", () -> upstream);
+        first.cancel(true);
+        upstream.complete("roster");
+
+        assertThat(second).isCompletedWithValue("roster");
+    }
+
+    @Test
+    public void call_is_cancelled_once_every_caller_gives_up() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = flight.execute("all", () -> upstream);
+        CompletableFuture<String> second = flight.execute("all", () -> upstream);
+        first.cancel(true);
+        second.cancel(true);
+
+        assertThat(upstream).isCancelled();
+        assertThat(flight.inFlight()).isZero();
+        assertThat(flight.execute("all", () -> CompletableFuture.completedFuture("fresh")))
+                .isCompletedWithValue("fresh");
+    }
+}
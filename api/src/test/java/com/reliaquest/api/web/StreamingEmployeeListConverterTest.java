@@ -0,0 +1,83 @@
+package com.reliaquest.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.models.Employee;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+class StreamingEmployeeListConverterTest {
+
+    private static final Type EMPLOYEES = new ParameterizedTypeReference<List<Employee>>() {}.getType();
+    private static final Type NAMES = new ParameterizedTypeReference<List<String>>() {}.getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final StreamingEmployeeListConverter converter = new StreamingEmployeeListConverter(objectMapper, 2);
+
+    @Test
+    public void writes_the_same_json_as_jackson() throws Exception {
+        List<Employee> employees = IntStream.range(0, 5)
+                .mapToObj(i -> new Employee(
+                        UUID.randomUUID(), "Employee " + i, 1000 * i, 30 + i, "Title", i + "@company.com"))
+                .toList();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(employees, EMPLOYEES, MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getBodyAsString()).isEqualTo(objectMapper.writeValueAsString(employees));
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(output.getHeaders().getContentLength()).isEqualTo(-1);
+    }
+
+    @Test
+    public void writes_an_empty_roster() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(List.of(), EMPLOYEES, MediaType.APPLICATION_JSON, output);
+
+        assertThat(output.getBodyAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    public void claims_only_employee_lists() {
+        assertThat(converter.canWrite(EMPLOYEES, List.class, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canWrite(NAMES, List.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(Employee.class, Employee.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(converter.canWrite(EMPLOYEES, List.class, MediaType.APPLICATION_XML)).isFalse();
+        assertThat(converter.canRead(EMPLOYEES, null, MediaType.APPLICATION_JSON)).isTrue();
+        assertThat(converter.canRead(NAMES, null, MediaType.APPLICATION_JSON)).isFalse();
+    }
+
+    @Test
+    public void reads_what_it_writes() throws Exception {
+        List<Employee> employees = List.of(
+                new Employee(UUID.randomUUID(), "Tiger Nixon", 320800, 61, "Architect", "tnixon@company.com"),
+                new Employee(UUID.randomUUID(), "Garrett Winters", 170750, 63, "Accountant", "gwinters@company.com"));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(employees, EMPLOYEES, MediaType.APPLICATION_JSON, output);
+
+        List<Employee> read = converter.read(EMPLOYEES, null, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        assertThat(read).isEqualTo(employees);
+    }
+
+    @Test
+    public void malformed_bodies_are_not_readable() {
+        MockHttpInputMessage input = new MockHttpInputMessage("[{\"employee_name\":".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> converter.read(EMPLOYEES, null, input))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+}
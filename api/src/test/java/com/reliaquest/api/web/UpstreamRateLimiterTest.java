@@ -0,0 +1,74 @@
+package com.reliaquest.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.configs.UpstreamRateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class UpstreamRateLimiterTest {
+
+    private final UpstreamRateLimitProperties properties = new UpstreamRateLimitProperties();
+
+    @Test
+    public void learns_budget_from_first_throttle() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.tryAcquire()).isZero();
+            limiter.onAccepted();
+        }
+        assertThat(limiter.tryAcquire()).isZero();
+        limiter.onThrottled(null);
+
+        assertThat(limiter.budget()).isEqualTo(6);
+        assertThat(limiter.tryAcquire()).isPositive();
+    }
+
+    @Test
+    public void pauses_once_known_budget_is_spent() {
+        properties.setInitialBudget(2);
+        properties.setCooldown(Duration.ofSeconds(30));
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, new SimpleMeterRegistry());
+
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isGreaterThan(Duration.ofSeconds(29).toNanos());
+        assertThat(limiter.available()).isZero();
+    }
+
+    @Test
+    public void honors_retry_after() {
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.tryAcquire();
+        limiter.onThrottled(Duration.ofSeconds(5));
+
+        assertThat(limiter.tryAcquire()).isBetween(1L, Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    public void rejects_when_permit_is_further_away_than_max_wait() {
+        properties.setMaxWait(Duration.ofMillis(10));
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.tryAcquire();
+        limiter.onThrottled(Duration.ofSeconds(5));
+
+        assertThat(limiter.admit(0)).isEqualTo(UpstreamRateLimiter.REJECTED);
+    }
+
+    @Test
+    public void admits_without_waiting_when_a_permit_is_close_enough() {
+        properties.setMaxWait(Duration.ofSeconds(10));
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(properties, new SimpleMeterRegistry());
+
+        limiter.tryAcquire();
+        limiter.onThrottled(Duration.ofSeconds(5));
+
+        // the caller is told how long to wait instead of being put to sleep
+        assertThat(limiter.admit(0)).isBetween(1L, Duration.ofSeconds(5).toNanos());
+        assertThat(limiter.admit(Duration.ofSeconds(6).toNanos())).isEqualTo(UpstreamRateLimiter.REJECTED);
+    }
+}
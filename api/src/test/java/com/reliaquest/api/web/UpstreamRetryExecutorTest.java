@@ -0,0 +1,139 @@
+package com.reliaquest.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.configs.UpstreamRateLimitProperties;
+import com.reliaquest.api.configs.UpstreamRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+
+class UpstreamRetryExecutorTest {
+
+    private static final int IO_THREADS = 4;
+
+    private final UpstreamRetryProperties properties = new UpstreamRetryProperties();
+    private UpstreamRetryExecutor executor;
+
+    @AfterEach
+    public void tearDown() {
+        if (executor != null) {
+            executor.stop();
+        }
+    }
+
+    @Test
+    public void thread_count_stays_flat_while_thousands_of_calls_back_off() throws Exception {
+        properties.setIoThreads(IO_THREADS);
+        properties.setInitialDelay(Duration.ofMillis(300));
+        properties.setMaxAttempts(3);
+        // every call here is throttled twice, far beyond the default budget
+        properties.getBudget().setRatio(2);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        executor = executor();
+
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            AtomicInteger attempts = new AtomicInteger();
+            calls.add(executor.execute("test", () -> {
+                if (attempts.incrementAndGet() < 3) {
+                    throw UpstreamRateLimiter.tooManyRequests("throttled");
+                }
+                return attempts.get();
+            }));
+        }
+
+        // while the calls wait out their backoff, only the io threads and the timer exist
+        TimeUnit.MILLISECONDS.sleep(150);
+        assertThat(calls).anyMatch(call -> !call.isDone());
+        assertThat(threads.getThreadCount()).isLessThanOrEqualTo(baseline + IO_THREADS + 1 + 2);
+
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        assertThat(calls).allMatch(call -> call.join() == 3);
+    }
+
+    @Test
+    public void gives_up_after_max_attempts() {
+        properties.setInitialDelay(Duration.ofMillis(1));
+        properties.setMaxAttempts(2);
+        executor = executor();
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<Object> call = executor.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw UpstreamRateLimiter.tooManyRequests("throttled");
+        });
+
+        assertThat(call)
+                .failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(HttpClientErrorException.TooManyRequests.class);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    public void fails_at_once_when_the_retry_budget_is_spent() {
+        properties.setInitialDelay(Duration.ofMillis(1));
+        properties.getBudget().setRatio(0);
+        properties.getBudget().setMinPerSecond(0);
+        properties.getBudget().setMaxBalance(1);
+        executor = executor();
+        AtomicInteger attempts = new AtomicInteger();
+
+        List<CompletableFuture<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            calls.add(executor.execute("test", () -> {
+                attempts.incrementAndGet();
+                throw UpstreamRateLimiter.tooManyRequests("throttled");
+            }));
+        }
+
+        assertThat(CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)))
+                .failsWithin(Duration.ofSeconds(5));
+        // the single retry in the budget went to one call; the other failed on its first attempt
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    public void a_cancelled_call_is_not_retried() throws Exception {
+        properties.setInitialDelay(Duration.ofMillis(200));
+        executor = executor();
+        AtomicInteger attempts = new AtomicInteger();
+        CompletableFuture<Object> throttled = executor.execute("test", () -> {
+            attempts.incrementAndGet();
+            throw UpstreamRateLimiter.tooManyRequests("throttled");
+        });
+        // let the first attempt fail and the retry be scheduled, then cancel as a time limiter would
+        TimeUnit.MILLISECONDS.sleep(50);
+
+        throttled.cancel(true);
+        TimeUnit.MILLISECONDS.sleep(400);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    private UpstreamRetryExecutor executor() {
+        UpstreamRateLimiter rateLimiter = unlimited();
+        return new UpstreamRetryExecutor(
+                properties,
+                rateLimiter,
+                new UpstreamRetryPolicy(properties, rateLimiter, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+    }
+
+    private static UpstreamRateLimiter unlimited() {
+        UpstreamRateLimitProperties limits = new UpstreamRateLimitProperties();
+        limits.setEnabled(false);
+        return new UpstreamRateLimiter(limits, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.configs.UpstreamRateLimitProperties;
+import com.reliaquest.api.configs.UpstreamRetryProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class UpstreamRetryPolicyTest {
+
+    private final UpstreamRetryProperties properties = new UpstreamRetryProperties();
+
+    @Test
+    public void waits_for_retry_after_rather_than_the_backoff() {
+        properties.setInitialDelay(Duration.ofMillis(100));
+        properties.setJitter(0.5);
+        UpstreamRetryPolicy policy = policy();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "10");
+
+        long delay = policy.delayNanos(1, throttled(headers));
+
+        assertThat(delay).isBetween(Duration.ofSeconds(10).toNanos(), Duration.ofSeconds(15).toNanos());
+    }
+
+    @Test
+    public void backs_off_exponentially_up_to_max_delay_with_jitter() {
+        properties.setInitialDelay(Duration.ofSeconds(1));
+        properties.setMultiplier(2);
+        properties.setMaxDelay(Duration.ofSeconds(5));
+        properties.setJitter(0.2);
+        UpstreamRetryPolicy policy = policy();
+
+        assertThat(policy.delayNanos(2, throttled(HttpHeaders.EMPTY)))
+                .isBetween(Duration.ofSeconds(2).toNanos(), Duration.ofMillis(2400).toNanos());
+        assertThat(policy.delayNanos(10, throttled(HttpHeaders.EMPTY)))
+                .isBetween(Duration.ofSeconds(5).toNanos(), Duration.ofSeconds(6).toNanos());
+    }
+
+    @Test
+    public void budget_is_earned_by_calls() {
+        properties.getBudget().setRatio(0.5);
+        properties.getBudget().setMinPerSecond(0);
+        properties.getBudget().setMaxBalance(1);
+        UpstreamRetryPolicy policy = policy();
+
+        assertThat(policy.tryRetry()).isTrue();
+        assertThat(policy.tryRetry()).isFalse();
+        policy.onCall();
+        assertThat(policy.tryRetry()).isFalse();
+        policy.onCall();
+        assertThat(policy.tryRetry()).isTrue();
+    }
+
+    private UpstreamRetryPolicy policy() {
+        UpstreamRateLimitProperties limits = new UpstreamRateLimitProperties();
+        limits.setEnabled(false);
+        return new UpstreamRetryPolicy(
+                properties,
+                new UpstreamRateLimiter(limits, new SimpleMeterRegistry()),
+                new SimpleMeterRegistry());
+    }
+
+    private static HttpClientErrorException.TooManyRequests throttled(HttpHeaders headers) {
+        return (HttpClientErrorException.TooManyRequests) HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson binding of {@link Employee} with its {@code employee_}-prefixing naming strategy, for a
+ * single employee and for whole rosters in the data server's {@code {"data":[...]}} envelope.
+ * Uses the same ObjectMapper configuration Spring Boot builds for the api.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeJsonBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Employee employee;
+    private byte[] employeeJson;
+    private List<Employee> roster;
+    private byte[] rosterJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        roster = Rosters.generate(rosterSize);
+        employee = roster.get(0);
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+        rosterJson = objectMapper.writeValueAsBytes(
+                EmployeeResponse.builder().data(roster).status("Successfully processed request.").build());
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serializeRoster() throws IOException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeRoster() throws IOException {
+        return objectMapper.readValue(rosterJson, EmployeeResponse.class).getData();
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.configs.EmployeeBatchProperties;
+import com.reliaquest.api.configs.EmployeeCacheProperties;
+import com.reliaquest.api.configs.EmployeeSearchProperties;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.service.EmployeeByIdCache;
+import com.reliaquest.api.service.EmployeeClient;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeSnapshot;
+import com.reliaquest.api.service.EmployeeSnapshotCache;
+import com.reliaquest.api.service.LastKnownGoodStore;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Read paths of {@link EmployeeService} against a warm roster cache, the state every request but
+ * the first runs in. The data server is replaced by an in-process client that serves the
+ * generated roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private EmployeeSnapshotCache snapshotCache;
+    private EmployeeService employeeService;
+    private String[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Employee> roster = Rosters.generate(rosterSize);
+        ids = roster.stream().map(employee -> employee.getId().toString()).toArray(String[]::new);
+
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        cacheProperties.setRefreshAfter(Duration.ofDays(1));
+        cacheProperties.setTtl(Duration.ofDays(1));
+        cacheProperties.setRefreshInterval(Duration.ZERO);
+        cacheProperties.setPreload(false);
+        EmployeeClient client = new InProcessClient(roster);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LastKnownGoodStore lastKnownGood = new LastKnownGoodStore(cacheProperties, new ObjectMapper());
+        snapshotCache = new EmployeeSnapshotCache(client, cacheProperties, lastKnownGood, meterRegistry);
+        employeeService = new EmployeeService(
+                client,
+                snapshotCache,
+                new EmployeeByIdCache(client, cacheProperties, meterRegistry),
+                lastKnownGood,
+                new EmployeeSearchProperties(),
+                new EmployeeBatchProperties(),
+                new ModelMapper(),
+                meterRegistry,
+                TimeLimiterRegistry.ofDefaults());
+        snapshotCache.get();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        snapshotCache.stop();
+    }
+
+    @Benchmark
+    public Employee getEmployeeById() {
+        String id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return employeeService.getEmployeeById(id);
+    }
+
+    /** Common trigram: a large candidate set to verify. */
+    @Benchmark
+    public List<Employee> searchCommonName() {
+        return employeeService.getEmployeesByName("son");
+    }
+
+    /** Rare needle: the index should make this independent of roster size. */
+    @Benchmark
+    public List<Employee> searchRareName() {
+        return employeeService.getEmployeesByName("jennifer white");
+    }
+
+    /** Two characters: below trigram length, falls back to a scan. */
+    @Benchmark
+    public List<Employee> searchShortName() {
+        return employeeService.getEmployeesByName("zq");
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningEmployeeNames() {
+        return employeeService.getHighestEarningEmployeeNames();
+    }
+
+    /** Serves the generated roster instead of calling the data server. */
+    private static final class InProcessClient extends EmployeeClient {
+
+        private final List<Employee> roster;
+
+        InProcessClient(List<Employee> roster) {
+            super(null, null, new ObjectMapper(), new EmployeeBatchProperties());
+            this.roster = roster;
+        }
+
+        @Override
+        public CompletableFuture<EmployeeSnapshot> fetchRoster(EmployeeSnapshot current) {
+            return CompletableFuture.completedFuture(EmployeeSnapshot.of(roster));
+        }
+
+        @Override
+        public CompletableFuture<Optional<Employee>> fetchEmployeeById(UUID id) {
+            return CompletableFuture.completedFuture(roster.stream()
+                    .filter(employee -> employee.getId().equals(id))
+                    .findFirst());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.models.CreateEmployeeInput;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeData;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@link ModelMapper} conversions between the api models, per employee and across a roster.
+ * {@link EmployeeData} has no no-arg constructor, so it is mapped into an existing instance.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelMapperBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private List<Employee> roster;
+    private Employee employee;
+    private EmployeeData employeeData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roster = Rosters.generate(rosterSize);
+        employee = roster.get(0);
+        employeeData = EmployeeData.builder().build();
+        // first use of a type pair builds its type map; keep that out of the measurement
+        modelMapper.map(employee, CreateEmployeeInput.class);
+        modelMapper.map(employee, employeeData);
+    }
+
+    @Benchmark
+    public CreateEmployeeInput employeeToCreateInput() {
+        return modelMapper.map(employee, CreateEmployeeInput.class);
+    }
+
+    @Benchmark
+    public EmployeeData employeeIntoEmployeeData() {
+        modelMapper.map(employee, employeeData);
+        return employeeData;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<CreateEmployeeInput> rosterToCreateInputs() {
+        return roster.stream()
+                .map(each -> modelMapper.map(each, CreateEmployeeInput.class))
+                .toList();
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+
+/** The mock server's roster for a fixed seed, so runs are comparable and match what the api serves. */
+final class Rosters {
+
+    static final long SEED = 42;
+
+    private Rosters() {}
+
+    static List<Employee> generate(int size) {
+        return new MockEmployeeGenerator(SEED, Locale.US)
+                .generate(size).stream().map(Rosters::toEmployee).toList();
+    }
+
+    private static Employee toEmployee(MockEmployee employee) {
+        return new Employee(
+                employee.getId(),
+                employee.getName(),
+                employee.getSalary(),
+                employee.getAge(),
+                employee.getTitle(),
+                employee.getEmail());
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.random.RandomGenerator;
+
+/**
+ * What the workload knows about the roster: ids and name fragments taken from it before the run,
+ * and the ids of employees the run has created, which deletes consume.
+ */
+final class Fixture {
+
+    private final List<UUID> ids;
+    private final List<String> searchTerms;
+    private final Queue<UUID> createdIds = new ConcurrentLinkedQueue<>();
+
+    private Fixture(List<UUID> ids, List<String> searchTerms) {
+        this.ids = ids;
+        this.searchTerms = searchTerms;
+    }
+
+    /** Builds the fixture from the api's {@code GET /api/v1/employee} response. */
+    static Fixture of(JsonNode roster) {
+        List<UUID> ids = new ArrayList<>();
+        List<String> searchTerms = new ArrayList<>();
+        for (JsonNode employee : roster) {
+            ids.add(UUID.fromString(employee.path("id").asText()));
+            // a few letters of the last name: matches a handful of employees, and needs no URL encoding
+            String name = employee.path("employee_name").asText("");
+            String last = name.substring(name.lastIndexOf(' ') + 1).replaceAll("[^A-Za-z]", "");
+            if (last.length() >= 3) {
+                searchTerms.add(last.substring(0, Math.min(last.length(), 4)).toLowerCase(Locale.ROOT));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The roster is empty; nothing to drive the workload with");
+        }
+        if (searchTerms.isEmpty()) {
+            searchTerms.add("son");
+        }
+        return new Fixture(List.copyOf(ids), List.copyOf(searchTerms));
+    }
+
+    UUID existingId(RandomGenerator random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    String searchTerm(RandomGenerator random) {
+        return searchTerms.get(random.nextInt(searchTerms.size()));
+    }
+
+    void created(UUID id) {
+        createdIds.add(id);
+    }
+
+    Optional<UUID> takeCreatedId() {
+        return Optional.ofNullable(createdIds.poll());
+    }
+
+    int size() {
+        return ids.size();
+    }
+}
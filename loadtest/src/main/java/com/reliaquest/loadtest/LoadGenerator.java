@@ -0,0 +1,128 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a {@link Workload} against the api open-loop: one pacing thread issues a request every
+ * {@code 1/rate} seconds, asynchronously, without waiting for earlier ones to complete, and each
+ * latency is measured from when its request was due. A slow api therefore builds up in-flight
+ * requests and shows in the histograms rather than quietly lowering the offered load.
+ */
+@Slf4j
+public final class LoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService responses = Executors.newFixedThreadPool(4);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(responses)
+            .build();
+
+    public LoadReport run(Workload workload, LoadTestHarness harness) throws IOException, InterruptedException {
+        URI employees = harness.getEmployeesUri();
+        Fixture fixture = fixture(employees);
+        log.info(
+                "Driving {} req/s for {} after {} warmup against {} employees, mix {}",
+                workload.rate(),
+                workload.duration(),
+                workload.warmup(),
+                fixture.size(),
+                workload.mix());
+
+        SplittableRandom random = new SplittableRandom(workload.seed());
+        LoadReport report = new LoadReport();
+        AtomicLong inFlight = new AtomicLong();
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / workload.rate());
+        long start = System.nanoTime();
+        long measureFrom = start + workload.warmup().toNanos();
+        long end = measureFrom + workload.duration().toNanos();
+        boolean measuring = false;
+        long issued = 0;
+
+        for (long due = start; due - end < 0; due += interval) {
+            if (!measuring && due - measureFrom >= 0) {
+                measuring = true;
+                harness.getUpstreamRequests().reset();
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = workload.pick(random);
+            HttpRequest request = operation.request(employees, fixture, random);
+            long dueAt = due;
+            boolean record = measuring;
+            if (record) {
+                issued++;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, ex) -> {
+                try {
+                    int status = ex == null ? response.statusCode() : 0;
+                    if (record) {
+                        report.record(operation, System.nanoTime() - dueAt, status);
+                    }
+                    if (operation == Operation.CREATE && status == 200) {
+                        created(fixture, response.body());
+                    }
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        long drainBy = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - drainBy < 0) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        long dropped = inFlight.get();
+        if (dropped > 0) {
+            log.warn("{} requests still in flight after {}", dropped, DRAIN_TIMEOUT);
+        }
+        report.finish(workload.duration(), issued, dropped, harness.getUpstreamRequests().snapshot());
+        return report;
+    }
+
+    public void close() {
+        responses.shutdownNow();
+    }
+
+    private Fixture fixture(URI employees) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(
+                HttpRequest.newBuilder(employees).timeout(Operation.TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not read the roster: HTTP " + response.statusCode());
+        }
+        return Fixture.of(objectMapper.readTree(response.body()));
+    }
+
+    private void created(Fixture fixture, byte[] body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).path("id");
+            if (id.isTextual()) {
+                fixture.created(UUID.fromString(id.asText()));
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            log.debug("Ignoring unreadable create response: {}", ex.getMessage());
+        }
+    }
+}
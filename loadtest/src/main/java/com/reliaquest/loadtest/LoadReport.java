@@ -0,0 +1,147 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Results of a run: a latency histogram per operation, response counts by status, and the
+ * requests the api sent to the mock server. Latencies are measured from when a request was due
+ * to be sent, so a stalled server shows up in the histogram instead of lowering the rate.
+ */
+public final class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Histogram overall = histogram();
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private Duration measured = Duration.ZERO;
+    private Map<String, Long> upstreamRequests = Map.of();
+    private long issued;
+    private long dropped;
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, histogram());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        long micros = Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(latencyNanos), 1), HIGHEST_TRACKABLE_MICROS);
+        latencies.get(operation).recordValue(micros);
+        overall.recordValue(micros);
+        statuses.computeIfAbsent(operation + " " + (status == 0 ? "failed" : status), key -> new LongAdder())
+                .increment();
+        if (isError(operation, status)) {
+            errors.increment();
+        }
+    }
+
+    void finish(Duration measured, long issued, long dropped, Map<String, Long> upstreamRequests) {
+        this.measured = measured;
+        this.issued = issued;
+        this.dropped = dropped;
+        this.upstreamRequests = upstreamRequests;
+    }
+
+    /** Completed requests per second over the measured window. */
+    public double throughput() {
+        return measured.isZero() ? 0 : overall.getTotalCount() / (measured.toNanos() / 1e9);
+    }
+
+    public long completed() {
+        return overall.getTotalCount();
+    }
+
+    public long issued() {
+        return issued;
+    }
+
+    /** Requests that had not completed when the run ended. */
+    public long dropped() {
+        return dropped;
+    }
+
+    /**
+     * Transport failures, 5xx and 429 responses. A 404 is only an error for operations that
+     * target existing employees.
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    public double errorRate() {
+        return completed() == 0 ? 0 : (double) errors() / completed();
+    }
+
+    public Duration percentile(double percentile) {
+        return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(overall.getValueAtPercentile(percentile)));
+    }
+
+    public Duration percentile(Operation operation, double percentile) {
+        return Duration.ofNanos(
+                TimeUnit.MICROSECONDS.toNanos(latencies.get(operation).getValueAtPercentile(percentile)));
+    }
+
+    public long upstreamRequests() {
+        return upstreamRequests.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public void print(PrintStream out) {
+        out.printf(
+                "%nLoad test: %d issued, %d completed, %d dropped in %.1fs -> %.1f req/s, %d errors (%.2f%%)%n",
+                issued,
+                completed(),
+                dropped,
+                measured.toNanos() / 1e9,
+                throughput(),
+                errors(),
+                errorRate() * 100);
+        out.printf(
+                "%-16s %8s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        latencies.forEach((operation, histogram) -> printRow(out, operation.name(), histogram));
+        printRow(out, "ALL", overall);
+        out.println("Responses:");
+        new TreeMap<>(statuses).forEach((key, count) -> out.printf("  %-28s %8d%n", key, count.sum()));
+        out.printf("Upstream requests to the mock server: %d (%.2f per api request)%n",
+                upstreamRequests(),
+                completed() == 0 ? 0 : (double) upstreamRequests() / completed());
+        upstreamRequests.forEach((key, count) -> out.printf("  %-28s %8d%n", key, count));
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        out.printf(
+                "%-16s %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static boolean isError(Operation operation, int status) {
+        if (status == 0 || status >= 500 || status == 429) {
+            return true;
+        }
+        return status == 404 && operation != Operation.DELETE && operation != Operation.SEARCH;
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Boots the mock server and the api in this JVM, each on a random port, with the api pointed at
+ * the server.
+ *
+ * <p>Both modules ship an {@code application.yml} and only one of them would win on the shared
+ * classpath, so the build copies them in as {@code loadtest-server.yml} and {@code loadtest-api.yml}
+ * and each app reads its own under that name. Only ports, the data server URL and the workload's
+ * knobs are overridden, from {@link #serverProperties} and {@link #apiProperties}, as command-line
+ * arguments so they win over the yml.
+ */
+@Slf4j
+public final class LoadTestHarness implements AutoCloseable {
+
+    private static final String EMPLOYEES_PATH = "/api/v1/employee";
+
+    private final ConfigurableApplicationContext server;
+    private final ConfigurableApplicationContext api;
+
+    @Getter
+    private final UpstreamRequestCounter upstreamRequests = new UpstreamRequestCounter();
+
+    @Getter
+    private final URI employeesUri;
+
+    public LoadTestHarness(Workload workload) {
+        this.server = new SpringApplicationBuilder(ServerApplication.class)
+                .initializers(context -> ((GenericApplicationContext) context)
+                        .registerBean("upstreamRequestCounter", UpstreamRequestCounter.class, () -> upstreamRequests))
+                .run(args("loadtest-server", serverProperties(workload)));
+        URI serverEmployees = URI.create("http://localhost:" + port(server) + EMPLOYEES_PATH);
+        log.info("Mock server listening at {}", serverEmployees);
+
+        this.api = new SpringApplicationBuilder(ApiApplication.class)
+                .run(args("loadtest-api", apiProperties(workload, serverEmployees)));
+        this.employeesUri = URI.create("http://localhost:" + port(api) + EMPLOYEES_PATH);
+        log.info("Api listening at {}", employeesUri);
+    }
+
+    static Map<String, Object> serverProperties(Workload workload) {
+        return Map.of(
+                "server.port", 0,
+                "mock.employees.max", workload.employees(),
+                "mock.employees.seed", workload.seed(),
+                "mock.rate-limit.enabled", workload.upstreamRateLimit(),
+                "logging.level.com.reliaquest", "WARN");
+    }
+
+    static Map<String, Object> apiProperties(Workload workload, URI serverEmployees) {
+        return Map.of(
+                "server.port", 0,
+                "dataserver.url", serverEmployees.toString(),
+                "employees.execution.mode", workload.executionMode(),
+                "logging.level.com.reliaquest", "WARN");
+    }
+
+    private static String[] args(String configName, Map<String, Object> overrides) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.name=" + configName);
+        overrides.forEach((key, value) -> args.add("--" + key + "=" + value));
+        return args.toArray(String[]::new);
+    }
+
+    @Override
+    public void close() {
+        api.close();
+        server.close();
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
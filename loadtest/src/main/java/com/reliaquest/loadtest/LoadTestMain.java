@@ -0,0 +1,20 @@
+package com.reliaquest.loadtest;
+
+/**
+ * Boots the mock server and the api, drives the {@code loadtest.*} workload and prints the report:
+ * {@code ./gradlew loadtest:loadTest -Dloadtest.rate=500 -Dloadtest.duration=60}.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {}
+
+    public static void main(String[] args) throws Exception {
+        Workload workload = Workload.fromSystemProperties();
+        LoadGenerator generator = new LoadGenerator();
+        try (LoadTestHarness harness = new LoadTestHarness(workload)) {
+            generator.run(workload, harness).print(System.out);
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/** The {@code EmployeeController} endpoints the workload drives. */
+public enum Operation {
+    GET_ALL {
+        @Override
+        HttpRequest request(URI employees, Fixture fixture, RandomGenerator random) {
+            return get(employees);
+        }
+    },
+    SEARCH {
+        @Override
+        HttpRequest request(URI employees, Fixture fixture, RandomGenerator random) {
+            return get(employees.resolve("employee/search/" + fixture.searchTerm(random)));
+        }
+    },
+    BY_ID {
+        @Override
+        HttpRequest request(URI employees, Fixture fixture, RandomGenerator random) {
+            return get(employees.resolve("employee/" + fixture.existingId(random)));
+        }
+    },
+    HIGHEST_SALARY {
+        @Override
+        HttpRequest request(URI employees, Fixture fixture, RandomGenerator random) {
+            return get(employees.resolve("employee/highestSalary"));
+        }
+    },
+    TOP_TEN {
+        @Override
+        HttpRequest request(URI employees, Fixture fixture, RandomGenerator random) {
+            return get(employees.resolve("employee/topTenHighestEarningEmployeeNames"));
+        }
+    },
+    CREATE {
+        @Override
+        HttpRequest request(URI employees, Fixture fixture, RandomGenerator random) {
+            String body = """
+                    {"name":"Load Test %s","salary":%d,"age":%d,"title":"Load Tester"}"""
+                    .formatted(
+                            Long.toString(random.nextLong() & Long.MAX_VALUE, 36),
+                            random.nextInt(30_000, 500_000),
+                            random.nextInt(16, 75));
+            return HttpRequest.newBuilder(employees)
+                    .timeout(TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+    /** Deletes an employee created by this run, or an unknown id (404) when there is none left. */
+    DELETE {
+        @Override
+        HttpRequest request(URI employees, Fixture fixture, RandomGenerator random) {
+            UUID id = fixture.takeCreatedId().orElseGet(UUID::randomUUID);
+            return HttpRequest.newBuilder(employees.resolve("employee/" + id))
+                    .timeout(TIMEOUT)
+                    .DELETE()
+                    .build();
+        }
+    };
+
+    static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    abstract HttpRequest request(URI employees, Fixture fixture, RandomGenerator random);
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+    }
+}
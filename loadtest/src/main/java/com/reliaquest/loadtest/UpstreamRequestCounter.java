@@ -0,0 +1,47 @@
+package com.reliaquest.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Registered in the mock server's context: counts the requests the api sends upstream, by method
+ * and response status.
+ */
+final class UpstreamRequestCounter extends OncePerRequestFilter {
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            counts.computeIfAbsent(request.getMethod() + " " + response.getStatus(), key -> new LongAdder())
+                    .increment();
+        }
+    }
+
+    /** Counts keyed by {@code "<method> <status>"}, sorted. */
+    Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.forEach((key, count) -> snapshot.put(key, count.sum()));
+        return snapshot;
+    }
+
+    long total() {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    void reset() {
+        counts.clear();
+    }
+}
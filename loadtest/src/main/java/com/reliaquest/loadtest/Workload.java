@@ -0,0 +1,98 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * An open-loop workload: requests are issued at a fixed {@code rate} whatever the response times,
+ * each picking an {@link Operation} with probability proportional to its weight in {@code mix}.
+ * Nothing issued during {@code warmup} is recorded.
+ *
+ * <p>Every setting can be overridden with a {@code loadtest.*} system property, see
+ * {@link #fromSystemProperties()}.
+ */
+public record Workload(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        int employees,
+        boolean upstreamRateLimit,
+        String executionMode,
+        long seed) {
+
+    static final String DEFAULT_MIX = "GET_ALL=1,SEARCH=3,BY_ID=4,HIGHEST_SALARY=2,TOP_TEN=2,CREATE=1,DELETE=1";
+
+    public Workload {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix needs at least one positive weight");
+        }
+        mix = Map.copyOf(mix);
+    }
+
+    /**
+     * Reads {@code loadtest.rate} (requests per second), {@code loadtest.warmup} and
+     * {@code loadtest.duration} (ISO-8601 or seconds), {@code loadtest.mix}
+     * ({@code OPERATION=weight,...}), {@code loadtest.employees} (mock roster size),
+     * {@code loadtest.rate-limit} (mock server 429s), {@code loadtest.execution-mode} (api
+     * {@code blocking|async}) and {@code loadtest.seed}.
+     */
+    public static Workload fromSystemProperties() {
+        return new Workload(
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                duration(System.getProperty("loadtest.warmup", "5")),
+                duration(System.getProperty("loadtest.duration", "20")),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Integer.parseInt(System.getProperty("loadtest.employees", "1000")),
+                Boolean.parseBoolean(System.getProperty("loadtest.rate-limit", "false")),
+                System.getProperty("loadtest.execution-mode", "blocking"),
+                Long.parseLong(System.getProperty("loadtest.seed", "42")));
+    }
+
+    public Workload withRate(double rate) {
+        return new Workload(rate, warmup, duration, mix, employees, upstreamRateLimit, executionMode, seed);
+    }
+
+    public Workload withTiming(Duration warmup, Duration duration) {
+        return new Workload(rate, warmup, duration, mix, employees, upstreamRateLimit, executionMode, seed);
+    }
+
+    Operation pick(RandomGenerator random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int ticket = random.nextInt(total);
+        for (Operation operation : Operation.values()) {
+            ticket -= mix.getOrDefault(operation, 0);
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Unreachable: weights sum to " + total);
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            int weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+        }
+        return weights;
+    }
+
+    private static Duration duration(String value) {
+        return value.startsWith("P") || value.startsWith("p")
+                ? Duration.parse(value)
+                : Duration.ofMillis((long) (Double.parseDouble(value) * 1000));
+    }
+}
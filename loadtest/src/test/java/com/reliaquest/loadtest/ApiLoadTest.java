@@ -0,0 +1,55 @@
+package com.reliaquest.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Load run with the mock server's rate limiter off, failing on throughput, error-rate or latency
+ * regressions. Tagged {@code load}, so it only runs through {@code loadTestCheck}, never with the
+ * regular tests. Thresholds and the workload can be overridden with {@code loadtest.*} system
+ * properties.
+ */
+@Tag("load")
+class ApiLoadTest {
+
+    private static final double MIN_THROUGHPUT_RATIO =
+            Double.parseDouble(System.getProperty("loadtest.min-throughput-ratio", "0.9"));
+    private static final double MAX_ERROR_RATE =
+            Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private static final Duration MAX_P99 = Duration.ofMillis(Long.getLong("loadtest.max-p99-ms", 1000));
+
+    private static Workload workload;
+    private static LoadTestHarness harness;
+    private static LoadGenerator generator;
+
+    @BeforeAll
+    static void start() {
+        workload = Workload.fromSystemProperties();
+        harness = new LoadTestHarness(workload);
+        generator = new LoadGenerator();
+    }
+
+    @AfterAll
+    static void stop() {
+        generator.close();
+        harness.close();
+    }
+
+    @Test
+    public void api_sustains_the_offered_load() throws Exception {
+        LoadReport report = generator.run(workload, harness);
+        report.print(System.out);
+
+        assertThat(report.throughput()).isGreaterThanOrEqualTo(workload.rate() * MIN_THROUGHPUT_RATIO);
+        assertThat(report.errorRate()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+        assertThat(report.percentile(99)).isLessThanOrEqualTo(MAX_P99);
+        assertThat(report.dropped()).isZero();
+        // reads are served from the cached roster; only writes and refreshes reach the mock server
+        assertThat(report.upstreamRequests()).isLessThan(report.completed());
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Generates the mock roster in parallel and reproducibly.
+ *
+ * <p>The roster is split into fixed-size chunks, each generated on the common fork-join pool by its
+ * own {@link Faker} seeded from the roster seed and the chunk index. Chunks are concatenated in
+ * order, so the same seed, size and locale always give the same roster, whatever the parallelism.
+ * Ids come from the same seeded random, as version 4 UUIDs.
+ */
+public final class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 4096;
+
+    private final long seed;
+    private final Locale locale;
+
+    public MockEmployeeGenerator(long seed, Locale locale) {
+        this.seed = seed;
+        this.locale = locale;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        int chunks = (Math.max(count, 0) + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<MockEmployee> employees = new ArrayList<>(Math.max(count, 0));
+        IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> generateChunk(chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .forEachOrdered(employees::addAll);
+        return employees;
+    }
+
+    private List<MockEmployee> generateChunk(int chunk, int size) {
+        Random random = new Random(mix(seed + chunk));
+        Faker faker = new Faker(locale, random);
+        List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new MockEmployee(
+                    randomUuid(random),
+                    faker.name().fullName(),
+                    faker.number().numberBetween(30000, 500000),
+                    faker.number().numberBetween(16, 70),
+                    faker.job().title(),
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase())));
+        }
+        return employees;
+    }
+
+    private static UUID randomUuid(Random random) {
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /* SplitMix64 finalizer, so neighbouring chunks get unrelated seeds. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
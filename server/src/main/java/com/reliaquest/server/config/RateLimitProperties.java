@@ -0,0 +1,46 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mock.rate-limit")
+public class RateLimitProperties {
+
+    public enum Algorithm {
+        /** {@code limit} requests, then 429 until {@code window} has passed since the last one admitted. */
+        COOLDOWN,
+        /** {@code limit} requests per aligned {@code window}. */
+        FIXED_WINDOW,
+        /** {@code limit} requests per rolling {@code window}, weighting the previous window by its overlap. */
+        SLIDING_WINDOW,
+        /** Bursts of up to {@code limit}, refilled evenly over {@code window}. */
+        TOKEN_BUCKET
+    }
+
+    public enum Key {
+        /** One limit shared by every client. */
+        GLOBAL,
+        REMOTE_ADDRESS,
+        /** The {@code key-header} request header, or the remote address without one. */
+        HEADER
+    }
+
+    private boolean enabled = true;
+
+    private Algorithm algorithm = Algorithm.COOLDOWN;
+
+    /** Requests per window; zero or negative picks 5 to 9 at random on startup. */
+    private int limit = 0;
+
+    /** Window, cooldown or refill period; zero or negative picks 30s to 90s at random on startup. */
+    private Duration window = Duration.ZERO;
+
+    private Key key = Key.GLOBAL;
+
+    private String keyHeader = "X-Client-Id";
+
+    /** Distinct keys tracked; further clients share one overflow limit. */
+    private int maxKeys = 10_000;
+}
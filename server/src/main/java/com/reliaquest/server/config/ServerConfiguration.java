@@ -1,59 +1,95 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.web.CooldownRequestLimiter;
+import com.reliaquest.server.web.FixedWindowRequestLimiter;
+import com.reliaquest.server.web.RequestLimitInterceptor;
+import com.reliaquest.server.web.RequestLimiter;
+import com.reliaquest.server.web.SlidingWindowRequestLimiter;
+import com.reliaquest.server.web.TokenBucketRequestLimiter;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RateLimitProperties rateLimit;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seed data only; CRUD operations go through MockEmployeeRepository. Lazy so file storage
+     * with existing data never generates it.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @Lazy
+    public List<MockEmployee> mockEmployees(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed) {
+        long rosterSeed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        long start = System.nanoTime();
+        List<MockEmployee> employees =
+                new MockEmployeeGenerator(rosterSeed, Locale.getDefault()).generate(maxEmployees);
+        log.info(
+                "Generated {} employees with mock.employees.seed={} in {} ms",
+                employees.size(),
+                rosterSeed,
+                (System.nanoTime() - start) / 1_000_000);
+        if (log.isDebugEnabled() && employees.size() <= 1000) {
+            employees.forEach(mockEmployee -> log.debug("Created employee: {}", mockEmployee));
+        }
+        return employees;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (rateLimit.isEnabled()) {
+            registry.addInterceptor(new RequestLimitInterceptor(requestLimiter(), rateLimit));
+        } else {
+            log.info("Rate limiting disabled");
+        }
+    }
+
+    /* Unset limits are drawn at random, so clients cannot hard-code them. */
+    private RequestLimiter requestLimiter() {
+        RandomGenerator random = RandomGenerator.getDefault();
+        int limit = rateLimit.getLimit() > 0 ? rateLimit.getLimit() : random.nextInt(5, 10);
+        Duration window = rateLimit.getWindow();
+        if (window == null || window.isZero() || window.isNegative()) {
+            window = Duration.ofSeconds(random.nextInt(30, 90));
+        }
+        int maxKeys = rateLimit.getMaxKeys();
+        log.info(
+                "Rate limiting {} requests per {} ({}, keyed by {})",
+                limit,
+                window,
+                rateLimit.getAlgorithm(),
+                rateLimit.getKey());
+        return switch (rateLimit.getAlgorithm()) {
+            case COOLDOWN -> new CooldownRequestLimiter(limit, window, maxKeys);
+            case FIXED_WINDOW -> new FixedWindowRequestLimiter(limit, window, maxKeys);
+            case SLIDING_WINDOW -> new SlidingWindowRequestLimiter(limit, window, maxKeys);
+            case TOKEN_BUCKET -> new TokenBucketRequestLimiter(limit, window, maxKeys);
+        };
     }
 }
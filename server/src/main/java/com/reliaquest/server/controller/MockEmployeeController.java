@@ -3,6 +3,7 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
@@ -17,18 +18,47 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    /** Server instance that issued the change sequence of a roster response. */
+    public static final String INSTANCE_HEADER = "X-Roster-Instance";
+
+    /** Change sequence a roster response is at least as new as; pass it to {@code /changes}. */
+    public static final String SEQUENCE_HEADER = "X-Roster-Sequence";
+
     private final MockEmployeeService mockEmployeeService;
 
+    /** Answers 304 without a body when {@code If-None-Match} still names the current roster. */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(WebRequest request) {
+        if (request.checkNotModified(mockEmployeeService.rosterETag())) {
+            return null;
+        }
+        long sequence = mockEmployeeService.changeSequence();
+        return ResponseEntity.ok()
+                .header(INSTANCE_HEADER, mockEmployeeService.instance())
+                .header(SEQUENCE_HEADER, Long.toString(sequence))
+                .body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    /**
+     * Creates and deletes after {@code since}. Answers 410 once they are no longer all retained,
+     * and the client has to fetch the full roster instead.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getChanges(@RequestParam("since") long since) {
+        return mockEmployeeService
+                .changesSince(since)
+                .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Changes since %d are no longer available".formatted(since))));
     }
 
     @GetMapping("/{id}")
@@ -44,6 +74,18 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    @PostMapping("/batch")
+    public Response<List<MockEmployee>> createEmployees(
+            @Valid @RequestBody List<@Valid CreateMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.createAll(inputs));
+    }
+
+    /** Lookup of many ids in one request; a POST since a thousand ids do not fit in a URL. */
+    @PostMapping("/lookup")
+    public Response<List<MockEmployee>> getEmployees(@RequestBody List<UUID> ids) {
+        return Response.handledWith(mockEmployeeService.findAllById(ids));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
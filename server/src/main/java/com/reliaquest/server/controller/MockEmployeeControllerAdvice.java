@@ -15,4 +15,10 @@ public class MockEmployeeControllerAdvice {
         log.error("Error handling web request.", ex);
         return ResponseEntity.internalServerError().body(Response.error(ex.getMessage()));
     }
+
+    @ExceptionHandler
+    protected ResponseEntity<?> handleBadRequest(IllegalArgumentException ex) {
+        log.warn("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+    }
 }
@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+/** One create or delete in the roster, numbered in the order it was applied. */
+public record MockEmployeeChange(long sequence, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
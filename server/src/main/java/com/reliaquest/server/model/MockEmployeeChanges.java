@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after a client's sequence number, up to and including {@code sequence}. Sequence numbers
+ * are only meaningful within the server {@code instance} that issued them.
+ */
+public record MockEmployeeChanges(String instance, long sequence, List<MockEmployeeChange> changes) {}
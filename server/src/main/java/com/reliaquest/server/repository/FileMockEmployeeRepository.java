@@ -0,0 +1,317 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Durable {@link MockEmployeeRepository}, enabled with {@code mock.storage.mode=file}.
+ *
+ * <p>State lives in {@code mock.storage.directory} as a compact snapshot file plus an append-only
+ * log of saves and deletes since that snapshot. On startup the snapshot is memory-mapped and the
+ * log replayed on top of it into an {@link InMemoryMockEmployeeRepository}, which serves all reads;
+ * only when neither exists is the roster generated with Datafaker. The log is folded into a fresh
+ * snapshot once it holds {@code mock.storage.compact-after} operations, and a torn record at its
+ * tail, as left by a crash, is truncated away.
+ *
+ * <p>Every change is appended to the log before it is applied in memory. A change whose append
+ * fails is not applied, and whatever part of it reached the log is cut off again, so readers never
+ * see a change that a restart would lose.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "mock.storage.mode", havingValue = "file")
+public class FileMockEmployeeRepository implements MockEmployeeRepository {
+
+    static final String SNAPSHOT_FILE = "employees.snapshot";
+    static final String LOG_FILE = "employees.log";
+
+    private static final int MAGIC = 0x4D4F434B; // "MOCK"
+    private static final int FORMAT = 1;
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 2;
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final int compactAfter;
+    private final boolean fsync;
+    private final InMemoryMockEmployeeRepository store;
+    private FileChannel journal;
+    private int loggedOperations;
+
+    public FileMockEmployeeRepository(
+            @Lazy List<MockEmployee> mockEmployees,
+            @Value("${mock.storage.directory:data}") Path directory,
+            @Value("${mock.storage.compact-after:100000}") int compactAfter,
+            @Value("${mock.storage.fsync:false}") boolean fsync)
+            throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.logFile = directory.resolve(LOG_FILE);
+        this.compactAfter = Math.max(compactAfter, 1);
+        this.fsync = fsync;
+
+        long start = System.nanoTime();
+        if (Files.exists(snapshotFile) || Files.exists(logFile)) {
+            this.store = new InMemoryMockEmployeeRepository(readSnapshot());
+            this.loggedOperations = replayLog();
+            log.info(
+                    "Loaded {} employees from {} in {} ms",
+                    store.count(),
+                    directory,
+                    (System.nanoTime() - start) / 1_000_000);
+        } else {
+            this.store = new InMemoryMockEmployeeRepository(mockEmployees);
+            writeSnapshot();
+            log.info("Generated {} employees into {}", store.count(), directory);
+        }
+        this.journal = FileChannel.open(
+                logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+
+    @Override
+    public List<MockEmployee> findAll() {
+        return store.findAll();
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return store.findById(id);
+    }
+
+    @Override
+    public synchronized MockEmployee save(@NonNull MockEmployee employee) {
+        if (employee.getId() == null) {
+            throw new IllegalArgumentException("Employee id is required");
+        }
+        append(out -> {
+            out.writeByte(SAVE);
+            MockEmployeeCodec.write(out, employee);
+        });
+        store.save(employee);
+        compactIfDue();
+        return employee;
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> deleteFirstByName(@NonNull String name) {
+        return delete(store.findFirstByName(name));
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> deleteById(@NonNull UUID id) {
+        return delete(store.findById(id));
+    }
+
+    @Override
+    public long version() {
+        return store.version();
+    }
+
+    @Override
+    public int count() {
+        return store.count();
+    }
+
+    private Optional<MockEmployee> delete(Optional<MockEmployee> found) {
+        found.ifPresent(employee -> {
+            append(out -> {
+                out.writeByte(DELETE);
+                MockEmployeeCodec.writeId(out, employee.getId());
+            });
+            store.deleteById(employee.getId());
+            compactIfDue();
+        });
+        return found;
+    }
+
+    /** Appends one record to the log; on failure the log is cut back to where the record started. */
+    private void append(Record record) {
+        long end = -1;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            record.writeTo(new DataOutputStream(bytes));
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            end = journal.size();
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            if (fsync) {
+                journal.force(false);
+            }
+            loggedOperations++;
+        } catch (IOException ex) {
+            if (end >= 0) {
+                truncateQuietly(end);
+            }
+            throw new UncheckedIOException("Failed to persist employee change", ex);
+        }
+    }
+
+    private void truncateQuietly(long size) {
+        try {
+            journal.truncate(size);
+        } catch (IOException ex) {
+            // replay drops a torn tail, but a whole record would come back; nothing more can be done here
+            log.error("Could not remove a failed change from {}: {}", logFile, ex.getMessage());
+        }
+    }
+
+    /*
+     * The change is already durable in the log, so a failed compaction is only logged; it is
+     * tried again after the next change.
+     */
+    private void compactIfDue() {
+        if (loggedOperations < compactAfter) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException ex) {
+            log.warn("Failed to compact {}: {}", logFile, ex.getMessage());
+        }
+    }
+
+    /** Folds the log into a new snapshot; the log is only truncated once the snapshot is on disk. */
+    private void compact() throws IOException {
+        writeSnapshot();
+        journal.truncate(0);
+        loggedOperations = 0;
+        log.debug("Compacted storage to {} employees", store.count());
+    }
+
+    private void writeSnapshot() throws IOException {
+        List<MockEmployee> employees = store.findAll();
+        Path temp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeInt(employees.size());
+            for (MockEmployee employee : employees) {
+                MockEmployeeCodec.write(out, employee);
+            }
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+    }
+
+    /** Makes the rename durable, so a crash cannot bring back the old snapshot next to a truncated log. */
+    private void forceDirectory() {
+        try (FileChannel directory = FileChannel.open(snapshotFile.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException ex) {
+            // not every platform can open a directory; the rename is as durable as it gets there
+            log.debug("Could not sync {}: {}", snapshotFile.getParent(), ex.getMessage());
+        }
+    }
+
+    private List<MockEmployee> readSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return List.of();
+        }
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = map(channel);
+            if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                throw new IOException("Not a mock employee snapshot: " + snapshotFile);
+            }
+            int count = buffer.getInt();
+            List<MockEmployee> employees = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                employees.add(MockEmployeeCodec.read(buffer));
+            }
+            return employees;
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("Truncated mock employee snapshot: " + snapshotFile, ex);
+        }
+    }
+
+    /**
+     * Replays the log onto the store; returns the number of operations in it. The log is read onto
+     * the heap rather than mapped, so its torn tail can be truncated without a live mapping over it.
+     */
+    private int replayLog() throws IOException {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+        int operations = 0;
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = read(channel);
+            int good = 0;
+            try {
+                while (buffer.hasRemaining()) {
+                    byte op = buffer.get();
+                    switch (op) {
+                        case SAVE -> store.save(MockEmployeeCodec.read(buffer));
+                        case DELETE -> store.deleteById(MockEmployeeCodec.readId(buffer));
+                        default -> throw new IOException("Unknown operation " + op + " in " + logFile);
+                    }
+                    good = buffer.position();
+                    operations++;
+                }
+            } catch (BufferUnderflowException torn) {
+                log.warn(
+                        "Dropping torn record at the end of {} ({} of {} bytes kept)", logFile, good, channel.size());
+                channel.truncate(good);
+            }
+        }
+        return operations;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, checkedSize(channel));
+    }
+
+    private static ByteBuffer read(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(checkedSize(channel));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int checkedSize(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Storage file larger than 2 GB; lower mock.storage.compact-after");
+        }
+        return (int) size;
+    }
+
+    @FunctionalInterface
+    private interface Record {
+        void writeTo(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,144 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * {@link MockEmployeeRepository} indexed by id and by lowercase name.
+ *
+ * <p>Writers are serialized; reads are lock-free. {@link #findAll()} hands out an immutable copy
+ * that is rebuilt at most once per version, so concurrent list requests share one copy until the
+ * next write.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "mock.storage.mode", havingValue = "memory", matchIfMissing = true)
+public class InMemoryMockEmployeeRepository implements MockEmployeeRepository {
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, Entry>> byName = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, MockEmployee> ordered = new ConcurrentSkipListMap<>();
+    private long sequence;
+    private volatile long version;
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of());
+
+    public InMemoryMockEmployeeRepository(List<MockEmployee> mockEmployees) {
+        mockEmployees.forEach(this::save);
+        log.info("Seeded repository with {} employees", count());
+    }
+
+    @Override
+    public List<MockEmployee> findAll() {
+        Snapshot current = snapshot;
+        long expected = version;
+        if (current.version() == expected) {
+            return current.employees();
+        }
+        List<MockEmployee> employees = List.copyOf(ordered.values());
+        // only publish a copy that no write raced with
+        if (version == expected) {
+            snapshot = new Snapshot(expected, employees);
+        }
+        return employees;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        Entry entry = byId.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.employee());
+    }
+
+    /** The employee {@link #deleteFirstByName(String)} would delete. */
+    public Optional<MockEmployee> findFirstByName(@NonNull String name) {
+        NavigableMap<Long, Entry> matches = byName.get(nameKey(name));
+        Map.Entry<Long, Entry> first = matches == null ? null : matches.firstEntry();
+        return first == null ? Optional.empty() : Optional.of(first.getValue().employee());
+    }
+
+    @Override
+    public synchronized MockEmployee save(@NonNull MockEmployee employee) {
+        if (employee.getId() == null) {
+            throw new IllegalArgumentException("Employee id is required");
+        }
+        Entry previous = byId.get(employee.getId());
+        if (previous != null) {
+            unlink(previous);
+        }
+        Entry entry = new Entry(++sequence, employee);
+        ordered.put(entry.seq(), employee);
+        byId.put(employee.getId(), entry);
+        String key = nameKey(employee.getName());
+        if (key != null) {
+            byName.computeIfAbsent(key, ignored -> new ConcurrentSkipListMap<>()).put(entry.seq(), entry);
+        }
+        version++;
+        return employee;
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> deleteFirstByName(@NonNull String name) {
+        NavigableMap<Long, Entry> matches = byName.get(nameKey(name));
+        if (matches == null || matches.isEmpty()) {
+            return Optional.empty();
+        }
+        Entry entry = matches.firstEntry().getValue();
+        unlink(entry);
+        version++;
+        return Optional.of(entry.employee());
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> deleteById(@NonNull UUID id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        unlink(entry);
+        version++;
+        return Optional.of(entry.employee());
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public int count() {
+        return byId.size();
+    }
+
+    private void unlink(Entry entry) {
+        byId.remove(entry.employee().getId(), entry);
+        ordered.remove(entry.seq());
+        String key = nameKey(entry.employee().getName());
+        if (key != null) {
+            NavigableMap<Long, Entry> matches = byName.get(key);
+            if (matches != null) {
+                matches.remove(entry.seq());
+                if (matches.isEmpty()) {
+                    byName.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long seq, MockEmployee employee) {}
+
+    private record Snapshot(long version, List<MockEmployee> employees) {}
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary layout of a {@link MockEmployee} in the storage files: id as two longs, salary and age as
+ * ints ({@link Integer#MIN_VALUE} for null), then name, title and email as a length-prefixed UTF-8
+ * string (length -1 for null). Big-endian, matching {@link java.io.DataOutputStream} and the
+ * default {@link ByteBuffer} order.
+ */
+final class MockEmployeeCodec {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private MockEmployeeCodec() {}
+
+    static void write(DataOutput out, MockEmployee employee) throws IOException {
+        out.writeLong(employee.getId().getMostSignificantBits());
+        out.writeLong(employee.getId().getLeastSignificantBits());
+        out.writeInt(employee.getSalary() == null ? NULL_INT : employee.getSalary());
+        out.writeInt(employee.getAge() == null ? NULL_INT : employee.getAge());
+        writeString(out, employee.getName());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    static void writeId(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    /** @throws BufferUnderflowException if the buffer ends mid-record */
+    static MockEmployee read(ByteBuffer in) {
+        UUID id = readId(in);
+        int salary = in.getInt();
+        int age = in.getInt();
+        return MockEmployee.builder()
+                .id(id)
+                .salary(salary == NULL_INT ? null : salary)
+                .age(age == NULL_INT ? null : age)
+                .name(readString(in))
+                .title(readString(in))
+                .email(readString(in))
+                .build();
+    }
+
+    static UUID readId(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage for the mock employees. Implementations must be safe for concurrent use by request threads.
+ */
+public interface MockEmployeeRepository {
+
+    /** Immutable snapshot of every employee, in insertion order. */
+    List<MockEmployee> findAll();
+
+    Optional<MockEmployee> findById(UUID id);
+
+    /** Stores the employee, replacing any with the same id. */
+    MockEmployee save(MockEmployee employee);
+
+    /** Removes the earliest stored employee whose name matches, ignoring case. */
+    Optional<MockEmployee> deleteFirstByName(String name);
+
+    Optional<MockEmployee> deleteById(UUID id);
+
+    /** Incremented by every change; equal versions mean equal contents. */
+    long version();
+
+    int count();
+}
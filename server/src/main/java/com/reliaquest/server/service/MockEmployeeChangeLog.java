@@ -0,0 +1,58 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ring buffer of the latest {@code mock.changes.capacity} roster changes. Sequence numbers start at
+ * 1 and have no gaps; 0 is the seeded roster.
+ */
+@Component
+public class MockEmployeeChangeLog {
+
+    private final MockEmployeeChange[] ring;
+    private long latest;
+
+    public MockEmployeeChangeLog(@Value("${mock.changes.capacity:10000}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("mock.changes.capacity must be positive");
+        }
+        this.ring = new MockEmployeeChange[capacity];
+    }
+
+    public synchronized long append(@NonNull MockEmployeeChange.Type type, @NonNull MockEmployee employee) {
+        long sequence = ++latest;
+        ring[slot(sequence)] = new MockEmployeeChange(sequence, type, employee);
+        return sequence;
+    }
+
+    public synchronized long latest() {
+        return latest;
+    }
+
+    /**
+     * Changes after {@code since} in sequence order, or empty when some of them have already been
+     * overwritten or {@code since} is ahead of this log.
+     */
+    public synchronized Optional<List<MockEmployeeChange>> since(long since) {
+        long oldest = Math.max(latest - ring.length + 1, 1);
+        if (since < oldest - 1 || since > latest) {
+            return Optional.empty();
+        }
+        List<MockEmployeeChange> changes = new ArrayList<>((int) (latest - since));
+        for (long sequence = since + 1; sequence <= latest; sequence++) {
+            changes.add(ring[slot(sequence)]);
+        }
+        return Optional.of(changes);
+    }
+
+    private int slot(long sequence) {
+        return (int) ((sequence - 1) % ring.length);
+    }
+}
@@ -4,15 +4,20 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.ThreadLocalRandom;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -21,15 +26,48 @@ import org.springframework.stereotype.Service;
 public class MockEmployeeService {
 
     private final Faker faker;
+    private final MockEmployeeRepository repository;
+    private final MockEmployeeChangeLog changeLog;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    // versions and change sequences restart with the process, so both name the process that issued them
+    private final String instance = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    @Value("${mock.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    public List<MockEmployee> getMockEmployees() {
+        return repository.findAll();
+    }
+
+    /**
+     * Weak ETag of the roster, changed by every create and delete. Read it before the roster: a
+     * change in between then only costs the client one extra full fetch.
+     */
+    public String rosterETag() {
+        return "W/\"%s-%d\"".formatted(instance, repository.version());
+    }
+
+    public String instance() {
+        return instance;
+    }
+
+    /**
+     * Latest change sequence. Like the ETag, read it before the roster: changes that land in
+     * between are then replayed on top of a roster that already has them, which is harmless.
+     */
+    public long changeSequence() {
+        return changeLog.latest();
+    }
+
+    /** Changes after {@code since}, or empty when the client has to fetch the full roster instead. */
+    public Optional<MockEmployeeChanges> changesSince(long since) {
+        return changeLog
+                .since(since)
+                .map(changes -> new MockEmployeeChanges(instance, since + changes.size(), changes));
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return repository.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
@@ -37,22 +75,58 @@ public class MockEmployeeService {
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        // changes are logged in the order they were applied
+        synchronized (changeLog) {
+            repository.save(mockEmployee);
+            changeLog.append(MockEmployeeChange.Type.CREATED, mockEmployee);
+        }
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /** Employees found among {@code ids}, in the order asked for; unknown ids are left out. */
+    public List<MockEmployee> findAllById(@NonNull Collection<UUID> ids) {
+        checkBatchSize(ids.size());
+        return ids.stream()
+                .map(repository::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /** Creates every employee, returned in input order, as one request against the rate limit. */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        checkBatchSize(inputs.size());
+        List<MockEmployee> mockEmployees = new ArrayList<>(inputs.size());
+        for (CreateMockEmployeeInput input : inputs) {
+            mockEmployees.add(MockEmployee.from(
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()),
+                    input));
+        }
+        synchronized (changeLog) {
+            for (MockEmployee mockEmployee : mockEmployees) {
+                repository.save(mockEmployee);
+                changeLog.append(MockEmployeeChange.Type.CREATED, mockEmployee);
+            }
+        }
+        log.debug("Added {} employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final Optional<MockEmployee> mockEmployee;
+        synchronized (changeLog) {
+            mockEmployee = repository.deleteFirstByName(input.getName());
+            mockEmployee.ifPresent(employee -> changeLog.append(MockEmployeeChange.Type.DELETED, employee));
         }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
 
-        return false;
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch of %d exceeds mock.batch.max-size of %d".formatted(size, maxBatchSize));
+        }
     }
 }
@@ -0,0 +1,48 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits {@code limit} requests, then rejects everything until {@code cooldown} has passed since
+ * the last request it admitted. This is how the data server has always throttled.
+ *
+ * <p>State: milliseconds of the last admission in the high 48 bits, admissions since the last
+ * cooldown in the low 16.
+ */
+public class CooldownRequestLimiter extends RequestLimiter {
+
+    private static final long COUNT_MASK = 0xFFFF;
+
+    private final int limit;
+    private final long cooldownMillis;
+
+    public CooldownRequestLimiter(int limit, Duration cooldown, int maxKeys) {
+        this(limit, cooldown, maxKeys, System::nanoTime);
+    }
+
+    CooldownRequestLimiter(int limit, Duration cooldown, int maxKeys, LongSupplier nanoTime) {
+        super(maxKeys, nanoTime);
+        if (limit <= 0 || limit > COUNT_MASK) {
+            throw new IllegalArgumentException("limit must be between 1 and " + COUNT_MASK);
+        }
+        this.limit = limit;
+        this.cooldownMillis = cooldown.toMillis();
+    }
+
+    @Override
+    protected long waitNanos(long state, long now) {
+        if ((state & COUNT_MASK) < limit) {
+            return 0;
+        }
+        long until = ((state >>> 16) + cooldownMillis) * 1_000_000;
+        return Math.max(until - now, 0);
+    }
+
+    @Override
+    protected long admit(long state, long now) {
+        long count = state & COUNT_MASK;
+        // a full count here means the cooldown is over
+        return (now / 1_000_000) << 16 | (count < limit ? count + 1 : 1);
+    }
+}
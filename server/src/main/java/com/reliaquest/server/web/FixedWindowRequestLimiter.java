@@ -0,0 +1,45 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits {@code limit} requests per window, windows being aligned to the limiter's start.
+ *
+ * <p>State: window number in the high 40 bits, admissions in that window in the low 24.
+ */
+public class FixedWindowRequestLimiter extends RequestLimiter {
+
+    private static final long COUNT_MASK = 0xFF_FFFF;
+
+    private final int limit;
+    private final long windowNanos;
+
+    public FixedWindowRequestLimiter(int limit, Duration window, int maxKeys) {
+        this(limit, window, maxKeys, System::nanoTime);
+    }
+
+    FixedWindowRequestLimiter(int limit, Duration window, int maxKeys, LongSupplier nanoTime) {
+        super(maxKeys, nanoTime);
+        if (limit <= 0 || limit > COUNT_MASK) {
+            throw new IllegalArgumentException("limit must be between 1 and " + COUNT_MASK);
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected long waitNanos(long state, long now) {
+        long window = now / windowNanos;
+        if (state >>> 24 != window || (state & COUNT_MASK) < limit) {
+            return 0;
+        }
+        return (window + 1) * windowNanos - now;
+    }
+
+    @Override
+    protected long admit(long state, long now) {
+        long window = now / windowNanos;
+        return state >>> 24 == window ? state + 1 : window << 24 | 1;
+    }
+}
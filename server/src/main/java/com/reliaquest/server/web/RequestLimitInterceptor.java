@@ -0,0 +1,45 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** Answers 429 with {@code Retry-After} for requests the {@link RequestLimiter} does not admit. */
+public class RequestLimitInterceptor implements HandlerInterceptor {
+
+    private final RequestLimiter limiter;
+    private final RateLimitProperties.Key key;
+    private final String keyHeader;
+
+    public RequestLimitInterceptor(RequestLimiter limiter, RateLimitProperties properties) {
+        this.limiter = limiter;
+        this.key = properties.getKey();
+        this.keyHeader = properties.getKeyHeader();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long waitNanos = limiter.tryAcquire(key(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        // whole seconds, rounded up so a client honouring it is not rejected again
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((waitNanos + 999_999_999) / 1_000_000_000));
+        return false;
+    }
+
+    private String key(HttpServletRequest request) {
+        return switch (key) {
+            case GLOBAL -> null;
+            case REMOTE_ADDRESS -> request.getRemoteAddr();
+            case HEADER -> {
+                String value = request.getHeader(keyHeader);
+                yield value == null || value.isBlank() ? request.getRemoteAddr() : value;
+            }
+        };
+    }
+}
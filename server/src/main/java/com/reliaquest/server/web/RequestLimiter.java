@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control with all of a client's state in one {@code long}, updated by compare-and-set.
+ * Rejections only read the state, so a throttled burst causes no write contention; admissions
+ * retry their CAS at most once per concurrent admission.
+ *
+ * <p>Subclasses define the state word: whether it admits a request at a given time, and what it
+ * becomes when it does. Times are nanoseconds since the limiter was created, starting at 1.
+ */
+public abstract class RequestLimiter {
+
+    private static final String OVERFLOW = "";
+
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final AtomicLong global = new AtomicLong();
+    private final ConcurrentMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final int maxKeys;
+
+    protected RequestLimiter(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    /** Reads time from {@code nanoTime} instead of {@link System#nanoTime()}, for tests. */
+    RequestLimiter(int maxKeys, LongSupplier nanoTime) {
+        this.maxKeys = maxKeys;
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong() - 1;
+    }
+
+    /**
+     * Takes a permit for {@code key}, or for every client when {@code key} is {@code null}.
+     *
+     * @return 0 when admitted, otherwise the nanoseconds until a request may be admitted again
+     */
+    public long tryAcquire(String key) {
+        AtomicLong state = key == null ? global : state(key);
+        long now = nanoTime.getAsLong() - origin;
+        while (true) {
+            long current = state.get();
+            long wait = waitNanos(current, now);
+            if (wait > 0) {
+                return wait;
+            }
+            if (state.compareAndSet(current, admit(current, now))) {
+                return 0;
+            }
+        }
+    }
+
+    /** Nanoseconds until {@code state} admits a request, or 0 if it admits one at {@code now}. */
+    protected abstract long waitNanos(long state, long now);
+
+    /** State after admitting a request at {@code now}. */
+    protected abstract long admit(long state, long now);
+
+    private AtomicLong state(String key) {
+        AtomicLong state = states.get(key);
+        if (state != null) {
+            return state;
+        }
+        if (states.size() >= maxKeys) {
+            key = OVERFLOW;
+        }
+        return states.computeIfAbsent(key, ignored -> new AtomicLong());
+    }
+}
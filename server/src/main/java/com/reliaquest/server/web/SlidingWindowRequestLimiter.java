@@ -0,0 +1,68 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Admits {@code limit} requests per rolling window, estimated as the current window's count plus
+ * the previous window's weighted by how much of it the rolling window still covers. Unlike a
+ * fixed window, this does not admit twice the limit around a window boundary.
+ *
+ * <p>State: window number in the high 32 bits, then the previous and the current window's counts
+ * in 16 bits each.
+ */
+public class SlidingWindowRequestLimiter extends RequestLimiter {
+
+    private static final long COUNT_MASK = 0xFFFF;
+
+    private final int limit;
+    private final long windowNanos;
+
+    public SlidingWindowRequestLimiter(int limit, Duration window, int maxKeys) {
+        this(limit, window, maxKeys, System::nanoTime);
+    }
+
+    SlidingWindowRequestLimiter(int limit, Duration window, int maxKeys, LongSupplier nanoTime) {
+        super(maxKeys, nanoTime);
+        if (limit <= 0 || limit >= COUNT_MASK) {
+            throw new IllegalArgumentException("limit must be between 1 and " + (COUNT_MASK - 1));
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected long waitNanos(long state, long now) {
+        long window = now / windowNanos;
+        long elapsed = now - window * windowNanos;
+        long current = current(state, window);
+        long previous = previous(state, window);
+        if (current >= limit) {
+            return (window + 1) * windowNanos - now;
+        }
+        if (previous * (double) (windowNanos - elapsed) / windowNanos + current < limit) {
+            return 0;
+        }
+        // the first offset past the one where the previous window's share equals what is left of the limit
+        long admitAt = (long) Math.floor(windowNanos * (1 - (double) (limit - current) / previous)) + 1;
+        return Math.max(admitAt - elapsed, 1);
+    }
+
+    @Override
+    protected long admit(long state, long now) {
+        long window = now / windowNanos;
+        return window << 32 | previous(state, window) << 16 | (current(state, window) + 1);
+    }
+
+    private static long current(long state, long window) {
+        return state >>> 32 == window ? state & COUNT_MASK : 0;
+    }
+
+    private static long previous(long state, long window) {
+        long stateWindow = state >>> 32;
+        if (stateWindow == window) {
+            return (state >>> 16) & COUNT_MASK;
+        }
+        return stateWindow == window - 1 ? state & COUNT_MASK : 0;
+    }
+}
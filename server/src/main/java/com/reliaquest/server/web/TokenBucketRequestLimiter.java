@@ -0,0 +1,38 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket of {@code limit} tokens refilled evenly over {@code window}, as the generic cell
+ * rate algorithm: the state is the theoretical arrival time of the next request, and a request is
+ * admitted while that time is less than a full bucket ahead of now.
+ */
+public class TokenBucketRequestLimiter extends RequestLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    public TokenBucketRequestLimiter(int limit, Duration window, int maxKeys) {
+        this(limit, window, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRequestLimiter(int limit, Duration window, int maxKeys, LongSupplier nanoTime) {
+        super(maxKeys, nanoTime);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        this.intervalNanos = Math.max(window.toNanos() / limit, 1);
+        this.toleranceNanos = intervalNanos * (limit - 1);
+    }
+
+    @Override
+    protected long waitNanos(long state, long now) {
+        return Math.max(Math.max(state, now) - now - toleranceNanos, 0);
+    }
+
+    @Override
+    protected long admit(long state, long now) {
+        return Math.max(state, now) + intervalNanos;
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    // more than one chunk, so chunks generated in parallel are covered
+    private static final int SIZE = MockEmployeeGenerator.CHUNK_SIZE + 100;
+
+    @Test
+    public void same_seed_gives_the_same_roster() {
+        List<MockEmployee> first = new MockEmployeeGenerator(42, Locale.US).generate(SIZE);
+        List<MockEmployee> second = new MockEmployeeGenerator(42, Locale.US).generate(SIZE);
+
+        assertThat(first).hasSize(SIZE).isEqualTo(second);
+    }
+
+    @Test
+    public void different_seeds_give_different_rosters() {
+        List<MockEmployee> first = new MockEmployeeGenerator(42, Locale.US).generate(SIZE);
+        List<MockEmployee> second = new MockEmployeeGenerator(43, Locale.US).generate(SIZE);
+
+        assertThat(second).hasSize(SIZE);
+        assertThat(ids(second)).doesNotContainAnyElementsOf(ids(first));
+        assertThat(second.stream().map(MockEmployee::getName).toList())
+                .isNotEqualTo(first.stream().map(MockEmployee::getName).toList());
+    }
+
+    @Test
+    public void ids_are_unique_version_4_uuids() {
+        List<MockEmployee> roster = new MockEmployeeGenerator(7, Locale.US).generate(SIZE);
+
+        assertThat(ids(roster)).hasSize(SIZE);
+        assertThat(roster).allSatisfy(employee -> {
+            assertThat(employee.getId().version()).isEqualTo(4);
+            assertThat(employee.getId().variant()).isEqualTo(2);
+        });
+    }
+
+    private static Set<UUID> ids(List<MockEmployee> roster) {
+        return roster.stream().map(MockEmployee::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileMockEmployeeRepositoryTest {
+
+    private static final MockEmployee TIGER = employee("Tiger Nixon", 320800);
+    private static final MockEmployee GARRETT = employee("Garrett Winters", 170750);
+    private static final MockEmployee ASHTON = employee("Ashton Cox", 86000);
+
+    @Test
+    public void creates_and_deletes_survive_a_restart(@TempDir Path dir) throws Exception {
+        FileMockEmployeeRepository repository = open(dir, List.of(TIGER, GARRETT), 100);
+        repository.save(ASHTON);
+        repository.deleteById(GARRETT.getId());
+        repository.close();
+
+        FileMockEmployeeRepository restarted = open(dir, List.of(), 100);
+
+        assertThat(restarted.findAll()).containsExactlyInAnyOrder(TIGER, ASHTON);
+        restarted.close();
+    }
+
+    @Test
+    public void changes_survive_a_restart_after_compaction(@TempDir Path dir) throws Exception {
+        FileMockEmployeeRepository repository = open(dir, List.of(TIGER, GARRETT), 2);
+        repository.save(ASHTON);
+        repository.deleteFirstByName("Tiger Nixon");
+        repository.close();
+
+        assertThat(Files.size(dir.resolve(FileMockEmployeeRepository.LOG_FILE))).isZero();
+        FileMockEmployeeRepository restarted = open(dir, List.of(), 2);
+
+        assertThat(restarted.findAll()).containsExactlyInAnyOrder(GARRETT, ASHTON);
+        restarted.close();
+    }
+
+    @Test
+    public void torn_log_tail_is_dropped_on_restart(@TempDir Path dir) throws Exception {
+        FileMockEmployeeRepository repository = open(dir, List.of(TIGER), 100);
+        repository.save(GARRETT);
+        repository.deleteById(TIGER.getId());
+        repository.close();
+        Path log = dir.resolve(FileMockEmployeeRepository.LOG_FILE);
+        long intact = Files.size(log);
+        // a save cut off by a crash: the operation and half an id
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {1, 0x12, 0x34, 0x56, 0x78, 0x12, 0x34, 0x56, 0x78}));
+        }
+
+        FileMockEmployeeRepository restarted = open(dir, List.of(), 100);
+
+        assertThat(restarted.findAll()).containsExactly(GARRETT);
+        assertThat(Files.size(log)).isEqualTo(intact);
+        restarted.save(ASHTON);
+        restarted.close();
+        FileMockEmployeeRepository again = open(dir, List.of(), 100);
+        assertThat(again.findAll()).containsExactlyInAnyOrder(GARRETT, ASHTON);
+        again.close();
+    }
+
+    @Test
+    public void changes_that_cannot_be_logged_are_not_applied(@TempDir Path dir) throws Exception {
+        FileMockEmployeeRepository repository = open(dir, List.of(TIGER, GARRETT), 100);
+        long version = repository.version();
+        // every append now fails
+        repository.close();
+
+        assertThatThrownBy(() -> repository.save(ASHTON)).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> repository.deleteById(TIGER.getId())).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> repository.deleteFirstByName("Garrett Winters"))
+                .isInstanceOf(UncheckedIOException.class);
+
+        assertThat(repository.findAll()).containsExactly(TIGER, GARRETT);
+        assertThat(repository.findById(ASHTON.getId())).isEmpty();
+        assertThat(repository.version()).isEqualTo(version);
+        FileMockEmployeeRepository restarted = open(dir, List.of(), 100);
+        assertThat(restarted.findAll()).containsExactlyInAnyOrder(TIGER, GARRETT);
+        restarted.close();
+    }
+
+    private static FileMockEmployeeRepository open(Path dir, List<MockEmployee> seed, int compactAfter)
+            throws Exception {
+        return new FileMockEmployeeRepository(seed, dir, compactAfter, false);
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(40)
+                .title("Engineer")
+                .email(name.toLowerCase().replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class InMemoryMockEmployeeRepositoryTest {
+
+    private static final MockEmployee TIGER = employee("Tiger Nixon");
+    private static final MockEmployee GARRETT = employee("Garrett Winters");
+
+    @Test
+    public void find_all_copy_is_shared_until_a_write() {
+        InMemoryMockEmployeeRepository repository = new InMemoryMockEmployeeRepository(List.of(TIGER));
+        List<MockEmployee> first = repository.findAll();
+
+        assertThat(repository.findAll()).isSameAs(first);
+
+        repository.save(GARRETT);
+        List<MockEmployee> afterSave = repository.findAll();
+        assertThat(afterSave).isNotSameAs(first).containsExactly(TIGER, GARRETT);
+        assertThat(first).containsExactly(TIGER);
+        assertThat(repository.findAll()).isSameAs(afterSave);
+
+        repository.deleteById(TIGER.getId());
+        assertThat(repository.findAll()).isNotSameAs(afterSave).containsExactly(GARRETT);
+        assertThat(repository.version()).isEqualTo(3);
+    }
+
+    @Test
+    public void delete_first_by_name_removes_the_earliest_duplicate() {
+        MockEmployee first = employee("Jane Doe");
+        MockEmployee second = employee("jane doe");
+        MockEmployee third = employee("JANE DOE");
+        InMemoryMockEmployeeRepository repository =
+                new InMemoryMockEmployeeRepository(List.of(first, TIGER, second, third));
+        // saving again moves an employee behind the others
+        repository.save(first);
+
+        assertThat(repository.deleteFirstByName("Jane DOE")).contains(second);
+        assertThat(repository.deleteFirstByName("jane doe")).contains(third);
+        assertThat(repository.deleteFirstByName("jane doe")).contains(first);
+        assertThat(repository.deleteFirstByName("jane doe")).isEmpty();
+        assertThat(repository.findAll()).containsExactly(TIGER);
+    }
+
+    @Test
+    public void concurrent_saves_and_deletes_keep_the_indexes_consistent() {
+        InMemoryMockEmployeeRepository repository = new InMemoryMockEmployeeRepository(List.of());
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        List<List<MockEmployee>> batches = IntStream.range(0, 8)
+                .mapToObj(writer -> IntStream.range(0, 250)
+                        .mapToObj(i -> employee("Writer " + writer + " employee " + i))
+                        .toList())
+                .toList();
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (List<MockEmployee> batch : batches) {
+            writes.add(CompletableFuture.runAsync(
+                    () -> {
+                        for (int i = 0; i < batch.size(); i++) {
+                            repository.save(batch.get(i));
+                            repository.findAll();
+                            if (i % 2 == 1) {
+                                repository.deleteById(batch.get(i - 1).getId());
+                            }
+                            if (i % 5 == 4) {
+                                repository.deleteFirstByName(batch.get(i).getName());
+                            }
+                        }
+                    },
+                    writers));
+        }
+        writes.forEach(CompletableFuture::join);
+        writers.shutdown();
+
+        List<MockEmployee> expected = batches.stream()
+                .flatMap(batch -> IntStream.range(0, batch.size())
+                        .filter(i -> i % 2 == 1 && i % 5 != 4)
+                        .mapToObj(batch::get))
+                .toList();
+        assertThat(repository.count()).isEqualTo(expected.size());
+        assertThat(repository.findAll()).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(expected).allSatisfy(employee -> assertThat(repository.findById(employee.getId()))
+                .contains(employee));
+        // every save, every delete by name, and the deletes by id whose target was not deleted by name already
+        assertThat(repository.version()).isEqualTo(8 * (250 + 50 + 100));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .title("Engineer")
+                .email(name.toLowerCase().replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
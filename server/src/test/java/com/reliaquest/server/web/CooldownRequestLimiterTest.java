@@ -0,0 +1,66 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CooldownRequestLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void admits_the_limit_then_waits_out_the_cooldown_since_the_last_admission() {
+        CooldownRequestLimiter limiter = new CooldownRequestLimiter(3, Duration.ofSeconds(10), 10, clock::get);
+
+        at(Duration.ZERO);
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        at(Duration.ofSeconds(4));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(10).toNanos());
+
+        // rejections do not restart the cooldown
+        at(Duration.ofSeconds(14).minusNanos(1));
+        assertThat(limiter.tryAcquire("a")).isEqualTo(1);
+        at(Duration.ofSeconds(14));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(10).toNanos());
+    }
+
+    @Test
+    public void cooldown_counts_from_the_millisecond_of_the_last_admission() {
+        CooldownRequestLimiter limiter = new CooldownRequestLimiter(1, Duration.ofSeconds(1), 10, clock::get);
+
+        at(Duration.ofMillis(2).plusNanos(999_999));
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(1000).minusNanos(999_999).toNanos());
+    }
+
+    @Test
+    public void sixteen_bit_count_sits_next_to_the_millisecond_clock() {
+        CooldownRequestLimiter limiter = new CooldownRequestLimiter(0xFFFF, Duration.ofSeconds(1), 10, clock::get);
+        Duration later = Duration.ofDays(10_000);
+
+        at(later);
+        for (int i = 0; i < 0xFFFF; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(1).toNanos());
+        at(later.plusSeconds(1));
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        assertThatThrownBy(() -> new CooldownRequestLimiter(0x10000, Duration.ofSeconds(1), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /** Limiter times are nanoseconds since creation plus one; this makes them {@code offset}. */
+    private void at(Duration offset) {
+        clock.set(offset.toNanos() - 1);
+    }
+}
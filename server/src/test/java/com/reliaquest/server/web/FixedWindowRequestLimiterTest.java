@@ -0,0 +1,45 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class FixedWindowRequestLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void admits_the_limit_per_window_and_waits_for_the_next() {
+        FixedWindowRequestLimiter limiter = new FixedWindowRequestLimiter(2, Duration.ofSeconds(1), 10, clock::get);
+
+        at(Duration.ofMillis(100));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(900).toNanos());
+
+        at(Duration.ofSeconds(1).minusNanos(1));
+        assertThat(limiter.tryAcquire("a")).isEqualTo(1);
+        at(Duration.ofSeconds(1));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofSeconds(1).toNanos());
+    }
+
+    @Test
+    public void idle_windows_start_from_zero() {
+        FixedWindowRequestLimiter limiter = new FixedWindowRequestLimiter(1, Duration.ofSeconds(1), 10, clock::get);
+
+        at(Duration.ofMillis(500));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        at(Duration.ofSeconds(7).plusMillis(999));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(1).toNanos());
+    }
+
+    /** Limiter times are nanoseconds since creation plus one; this makes them {@code offset}. */
+    private void at(Duration offset) {
+        clock.set(offset.toNanos() - 1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.config.RateLimitProperties;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestLimitInterceptorTest {
+
+    @Test
+    public void admitted_requests_go_through() {
+        RequestLimitInterceptor interceptor = interceptor(new ScriptedLimiter(0), RateLimitProperties.Key.GLOBAL);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, null)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+    }
+
+    @Test
+    public void rejected_requests_get_429_with_retry_after_rounded_up_to_whole_seconds() {
+        assertThat(retryAfter(1)).isEqualTo("1");
+        assertThat(retryAfter(999_999_999)).isEqualTo("1");
+        assertThat(retryAfter(1_000_000_000)).isEqualTo("1");
+        assertThat(retryAfter(1_000_000_001)).isEqualTo("2");
+        assertThat(retryAfter(59_500_000_000L)).isEqualTo("60");
+    }
+
+    @Test
+    public void requests_are_keyed_as_configured() {
+        MockHttpServletRequest withHeader = request("10.0.0.1", "client-1");
+        MockHttpServletRequest blankHeader = request("10.0.0.2", " ");
+        MockHttpServletRequest noHeader = request("10.0.0.3", null);
+
+        assertThat(keys(RateLimitProperties.Key.GLOBAL, withHeader, noHeader)).containsExactly(null, null);
+        assertThat(keys(RateLimitProperties.Key.REMOTE_ADDRESS, withHeader, noHeader))
+                .containsExactly("10.0.0.1", "10.0.0.3");
+        assertThat(keys(RateLimitProperties.Key.HEADER, withHeader, blankHeader, noHeader))
+                .containsExactly("client-1", "10.0.0.2", "10.0.0.3");
+    }
+
+    private static String retryAfter(long waitNanos) {
+        RequestLimitInterceptor interceptor =
+                interceptor(new ScriptedLimiter(waitNanos), RateLimitProperties.Key.GLOBAL);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        return response.getHeader(HttpHeaders.RETRY_AFTER);
+    }
+
+    private static List<String> keys(RateLimitProperties.Key key, MockHttpServletRequest... requests) {
+        ScriptedLimiter limiter = new ScriptedLimiter(0);
+        RequestLimitInterceptor interceptor = interceptor(limiter, key);
+        for (MockHttpServletRequest request : requests) {
+            interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        }
+        return limiter.keys;
+    }
+
+    private static RequestLimitInterceptor interceptor(RequestLimiter limiter, RateLimitProperties.Key key) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setKey(key);
+        return new RequestLimitInterceptor(limiter, properties);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+
+    /** Answers every request with the same wait and records the keys it was asked for. */
+    private static final class ScriptedLimiter extends RequestLimiter {
+
+        private final long waitNanos;
+        private final List<String> keys = new ArrayList<>();
+
+        ScriptedLimiter(long waitNanos) {
+            super(1);
+            this.waitNanos = waitNanos;
+        }
+
+        @Override
+        public long tryAcquire(String key) {
+            keys.add(key);
+            return waitNanos;
+        }
+
+        @Override
+        protected long waitNanos(long state, long now) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected long admit(long state, long now) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RequestLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(1);
+
+    @Test
+    public void keys_are_limited_apart_from_each_other_and_from_the_global_limit() {
+        RequestLimiter limiter = new FixedWindowRequestLimiter(1, WINDOW, 10, () -> 0);
+
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+        assertThat(limiter.tryAcquire("b")).isZero();
+        assertThat(limiter.tryAcquire(null)).isZero();
+        assertThat(limiter.tryAcquire(null)).isPositive();
+    }
+
+    @Test
+    public void keys_beyond_the_maximum_share_one_limit() {
+        RequestLimiter limiter = new FixedWindowRequestLimiter(1, WINDOW, 2, () -> 0);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+
+        assertThat(limiter.tryAcquire("c")).isZero();
+        assertThat(limiter.tryAcquire("d")).isPositive();
+        assertThat(limiter.tryAcquire("a")).isPositive();
+    }
+
+    @Test
+    public void concurrent_requests_are_admitted_exactly_up_to_the_limit() {
+        List<RequestLimiter> limiters = List.of(
+                new CooldownRequestLimiter(1000, WINDOW, 10, () -> 0),
+                new FixedWindowRequestLimiter(1000, WINDOW, 10, () -> 0),
+                new SlidingWindowRequestLimiter(1000, WINDOW, 10, () -> 0),
+                new TokenBucketRequestLimiter(1000, WINDOW, 10, () -> 0));
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+
+        for (RequestLimiter limiter : limiters) {
+            AtomicInteger admitted = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Void>> requests = new ArrayList<>();
+            for (int client = 0; client < 8; client++) {
+                requests.add(CompletableFuture.runAsync(
+                        () -> {
+                            awaitQuietly(start);
+                            for (int i = 0; i < 500; i++) {
+                                if (limiter.tryAcquire("a") == 0) {
+                                    admitted.incrementAndGet();
+                                }
+                            }
+                        },
+                        clients));
+            }
+            start.countDown();
+            requests.forEach(CompletableFuture::join);
+
+            assertThat(admitted).as(limiter.getClass().getSimpleName()).hasValue(1000);
+        }
+        clients.shutdown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
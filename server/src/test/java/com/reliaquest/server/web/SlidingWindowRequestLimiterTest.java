@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRequestLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void full_window_waits_until_it_ends() {
+        SlidingWindowRequestLimiter limiter = new SlidingWindowRequestLimiter(3, Duration.ofSeconds(1), 10, clock::get);
+
+        at(Duration.ofMillis(900));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(100).toNanos());
+    }
+
+    @Test
+    public void previous_window_counts_by_how_much_of_it_is_still_covered() {
+        SlidingWindowRequestLimiter limiter = new SlidingWindowRequestLimiter(3, Duration.ofSeconds(1), 10, clock::get);
+        at(Duration.ofMillis(100));
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+
+        // a quarter into the next window, 2 * 0.75 of the previous one still counts
+        at(Duration.ofMillis(1250));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isZero();
+        // 1.5 + 2 reaches the limit until the previous share is below 1, half way through
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(250).plusNanos(1).toNanos());
+
+        at(Duration.ofMillis(1500));
+        assertThat(limiter.tryAcquire("a")).isEqualTo(1);
+        at(Duration.ofMillis(1500).plusNanos(1));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(500).minusNanos(1).toNanos());
+    }
+
+    @Test
+    public void wait_ends_on_the_first_nanosecond_the_estimate_admits() {
+        SlidingWindowRequestLimiter limiter = new SlidingWindowRequestLimiter(3, Duration.ofSeconds(1), 10, clock::get);
+        at(Duration.ofMillis(900));
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        // no burst at the boundary: the full previous window still counts 3 * (1 - 1ns / 1s)
+        at(Duration.ofSeconds(1));
+        assertThat(limiter.tryAcquire("a")).isEqualTo(1);
+        at(Duration.ofSeconds(1).plusNanos(1));
+        assertThat(limiter.tryAcquire("a")).isZero();
+
+        // 3 * (1 - t) + 1 < 3 once t passes 1/3 s, which is not a whole nanosecond
+        long wait = limiter.tryAcquire("a");
+        assertThat(wait).isEqualTo(333_333_333);
+        at(Duration.ofSeconds(1).plusNanos(wait));
+        assertThat(limiter.tryAcquire("a")).isEqualTo(1);
+        at(Duration.ofSeconds(1).plusNanos(1 + wait));
+        assertThat(limiter.tryAcquire("a")).isZero();
+    }
+
+    /** Limiter times are nanoseconds since creation plus one; this makes them {@code offset}. */
+    private void at(Duration offset) {
+        clock.set(offset.toNanos() - 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRequestLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void admits_a_full_bucket_then_one_per_interval() {
+        TokenBucketRequestLimiter limiter = new TokenBucketRequestLimiter(4, Duration.ofSeconds(1), 10, clock::get);
+
+        at(Duration.ZERO);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(250).toNanos());
+
+        at(Duration.ofMillis(250).minusNanos(1));
+        assertThat(limiter.tryAcquire("a")).isEqualTo(1);
+        at(Duration.ofMillis(250));
+        assertThat(limiter.tryAcquire("a")).isZero();
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(250).toNanos());
+    }
+
+    @Test
+    public void idle_time_refills_no_more_than_the_bucket() {
+        TokenBucketRequestLimiter limiter = new TokenBucketRequestLimiter(4, Duration.ofSeconds(1), 10, clock::get);
+        at(Duration.ZERO);
+        limiter.tryAcquire("a");
+
+        at(Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("a")).isEqualTo(Duration.ofMillis(250).toNanos());
+    }
+
+    /** Limiter times are nanoseconds since creation plus one; this makes them {@code offset}. */
+    private void at(Duration offset) {
+        clock.set(offset.toNanos() - 1);
+    }
+}